@@ -1,15 +1,26 @@
 package ru.practicum.shareit.booking;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
@@ -37,17 +48,76 @@ public class BookingClient extends BaseClient {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        return get("?state={state}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, int from, int size,
+                                              LocalDateTime afterStart, Integer afterId) {
+        return getPage("", userId, state, from, size, afterStart, afterId);
     }
 
+    public ResponseEntity<Object> getAllByOwner(long userId, BookingState state, int from, int size,
+                                                LocalDateTime afterStart, Integer afterId) {
+        return getPage("/owner", userId, state, from, size, afterStart, afterId);
+    }
+
+    public ResponseEntity<Object> getOwnerStats(long userId) {
+        return get("/owner/stats", userId);
+    }
 
-    public ResponseEntity<Object> getAllByOwner(long userId, BookingState state) {
-        return get("/owner?state=" + state.name(), userId);
+    private ResponseEntity<Object> getPage(String path, long userId, BookingState state, int from, int size,
+                                           LocalDateTime afterStart, Integer afterId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (afterStart == null) {
+            return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("afterStart", afterStart);
+        parameters.put("afterId", afterId);
+        return get(path + "?state={state}&from={from}&size={size}&afterStart={afterStart}&afterId={afterId}",
+                userId, parameters);
     }
 
     public ResponseEntity<Object> setApproved(int userId, int bookingId, boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> setApprovedAll(int userId, List<BookingDecisionDto> decisions) {
+        return patch("/batch", userId, decisions);
+    }
+
+    /**
+     * Opens the owner's booking event stream of the server. Its status is checked before anything is sent back,
+     * so an error such as an unknown user is passed through with the server's status and body. Otherwise the
+     * returned body copies the stream until either side closes it, flushing every chunk right away, so events
+     * are not held back in the gateway.
+     */
+    public ResponseEntity<StreamingResponseBody> streamByOwner(long userId) throws IOException {
+        ClientHttpRequest request = rest.getRequestFactory()
+                .createRequest(rest.getUriTemplateHandler().expand("/owner/stream"), HttpMethod.GET);
+        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+        ClientHttpResponse response = request.execute();
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            try (response) {
+                byte[] body = response.getBody().readAllBytes();
+                return ResponseEntity.status(response.getStatusCode())
+                        .contentType(response.getHeaders().getContentType())
+                        .body(out -> out.write(body));
+            }
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(out -> {
+                    try (response) {
+                        InputStream in = response.getBody();
+                        byte[] chunk = new byte[8192];
+                        int read;
+                        while ((read = in.read(chunk)) != -1) {
+                            out.write(chunk, 0, read);
+                            out.flush();
+                        }
+                    }
+                });
+    }
+}
@@ -1,12 +1,26 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
 
 /**
  * TODO Sprint add-bookings.
@@ -17,6 +31,8 @@ import ru.practicum.shareit.booking.dto.BookingState;
 public class BookingController {
     private final BookingClient bookingClient;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String UNBOUNDED_SIZE = "2147483647";
+    private static final int MAX_BATCH_SIZE = 1_000;
 
     @PostMapping
     public ResponseEntity<Object> create(@RequestBody @Valid BookingDtoRequest bookingDtoRequest,
@@ -31,6 +47,12 @@ public class BookingController {
         return bookingClient.setApproved(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> approveAll(@RequestHeader(USER_ID_HEADER) int userId,
+                                             @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                             List<@Valid BookingDecisionDto> decisions) {
+        return bookingClient.setApprovedAll(userId, decisions);
+    }
 
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> get(@PathVariable int bookingId,
@@ -40,13 +62,38 @@ public class BookingController {
 
     @GetMapping
     public ResponseEntity<Object> getAll(@RequestHeader(USER_ID_HEADER) int userId,
-                                   @RequestParam(name = "state", defaultValue = "ALL") BookingState bookingState) {
-        return bookingClient.getBookings(userId, bookingState);
+                                   @RequestParam(name = "state", defaultValue = "ALL") BookingState bookingState,
+                                   @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                   @RequestParam(defaultValue = UNBOUNDED_SIZE) @Positive int size,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                   @RequestParam(required = false) Integer afterId) {
+        if ((afterStart == null) != (afterId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "afterStart and afterId must be given together");
+        }
+        return bookingClient.getBookings(userId, bookingState, from, size, afterStart, afterId);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllByOwner(@RequestHeader(USER_ID_HEADER) int userId,
-                                       @RequestParam(name = "state", defaultValue = "ALL") BookingState bookingState) {
-        return bookingClient.getAllByOwner(userId, bookingState);
+                                   @RequestParam(name = "state", defaultValue = "ALL") BookingState bookingState,
+                                       @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                       @RequestParam(defaultValue = UNBOUNDED_SIZE) @Positive int size,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                       @RequestParam(required = false) Integer afterId) {
+        if ((afterStart == null) != (afterId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "afterStart and afterId must be given together");
+        }
+        return bookingClient.getAllByOwner(userId, bookingState, from, size, afterStart, afterId);
+    }
+
+    @GetMapping("/owner/stats")
+    public ResponseEntity<Object> getOwnerStats(@RequestHeader(USER_ID_HEADER) int userId) {
+        return bookingClient.getOwnerStats(userId);
+    }
+
+    @GetMapping(path = "/owner/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByOwner(@RequestHeader(USER_ID_HEADER) int userId)
+            throws IOException {
+        return bookingClient.streamByOwner(userId);
     }
 }
@@ -11,6 +11,8 @@ import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -31,6 +33,10 @@ public class ItemClient extends BaseClient {
         return post("", ownerId, itemDto);
     }
 
+    public ResponseEntity<Object> addBatch(List<ItemDto> items, int ownerId) {
+        return post("/batch", ownerId, items);
+    }
+
     public ResponseEntity<Object> update(int itemId, int ownerId, ItemDto itemDto) {
         return patch("/" + itemId, ownerId, itemDto);
     }
@@ -39,14 +45,57 @@ public class ItemClient extends BaseClient {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAll(long ownerId) {
-        return get("", ownerId);
+    public ResponseEntity<Object> getAvailability(int itemId, LocalDateTime from, LocalDateTime to, long userId) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
     }
 
-    public ResponseEntity<Object> find(String text, long userId) {
-        Map<String, Object> parameters = Map.of("text", text);
+    public ResponseEntity<Object> getAll(long ownerId, int after, int size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+
+        return get("?after={after}&size={size}", ownerId, parameters);
+    }
+
+    public ResponseEntity<Object> find(String text, boolean fuzzy, int from, int size, long userId) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "fuzzy", fuzzy,
+                "from", from,
+                "size", size
+        );
+
+        return get("/search?text={text}&fuzzy={fuzzy}&from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> findFree(String text, boolean fuzzy, int from, int size,
+                                           LocalDateTime start, LocalDateTime end, long userId) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "fuzzy", fuzzy,
+                "from", from,
+                "size", size,
+                "start", start,
+                "end", end
+        );
+
+        return get("/search?text={text}&fuzzy={fuzzy}&from={from}&size={size}&start={start}&end={end}",
+                userId, parameters);
+    }
+
+    public ResponseEntity<Object> suggest(String prefix, int size, long userId) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size
+        );
 
-        return get("/search?text=" + text, userId, parameters);
+        return get("/suggest?prefix={prefix}&size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> addComment(long itemId, long userId, CommentDto comment) {
@@ -1,12 +1,26 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
 
 /**
  * TODO Sprint add-controllers.
@@ -17,7 +31,10 @@ import ru.practicum.shareit.item.dto.ItemDto;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemClient itemClient;
+    private final ItemNdjsonReader itemNdjsonReader;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String UNBOUNDED_SIZE = "2147483647";
+    private static final int MAX_BATCH_SIZE = 10_000;
 
     @PostMapping
     public ResponseEntity<Object> add(@RequestBody @Valid ItemDto itemDto,
@@ -25,6 +42,18 @@ public class ItemController {
         return itemClient.add(itemDto, ownerId);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> addBatch(@RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid ItemDto> items,
+                                           @RequestHeader(USER_ID_HEADER) int ownerId) {
+        return itemClient.addBatch(items, ownerId);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> addBatch(InputStream body,
+                                           @RequestHeader(USER_ID_HEADER) int ownerId) throws IOException {
+        return itemClient.addBatch(itemNdjsonReader.read(body, MAX_BATCH_SIZE), ownerId);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> update(@RequestBody ItemDto newItemDto,
                           @PathVariable int itemId,
@@ -38,15 +67,49 @@ public class ItemController {
         return itemClient.getById(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@PathVariable int itemId,
+                                                  @RequestHeader(USER_ID_HEADER) int userId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        return itemClient.getAvailability(itemId, from, to, userId);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestHeader(USER_ID_HEADER) int ownerId) {
-        return itemClient.getAll(ownerId);
+    public ResponseEntity<Object> getAll(@RequestHeader(USER_ID_HEADER) int ownerId,
+                                         @RequestParam(defaultValue = "0") @PositiveOrZero int after,
+                                         @RequestParam(defaultValue = UNBOUNDED_SIZE) @Positive int size) {
+        return itemClient.getAll(ownerId, after, size);
     }
 
     @GetMapping("/search")
     public ResponseEntity<Object> find(@RequestHeader(USER_ID_HEADER) int userId,
-                                       @RequestParam("text") String text) {
-        return itemClient.find(text, userId);
+                                       @RequestParam("text") String text,
+                                       @RequestParam(defaultValue = "false") boolean fuzzy,
+                                       @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                       @RequestParam(defaultValue = UNBOUNDED_SIZE) @Positive int size,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        if (start == null && end == null) {
+            return itemClient.find(text, fuzzy, from, size, userId);
+        }
+        if (start == null || end == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "start and end must be given together");
+        }
+        if (!start.isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "start must be before end");
+        }
+        return itemClient.findFree(text, fuzzy, from, size, start, end, userId);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggest(@RequestHeader(USER_ID_HEADER) int userId,
+                                          @RequestParam("prefix") String prefix,
+                                          @RequestParam(defaultValue = "10") @Positive @Max(100) int size) {
+        return itemClient.suggest(prefix, size, userId);
     }
 
     @PostMapping("/{itemId}/comment")
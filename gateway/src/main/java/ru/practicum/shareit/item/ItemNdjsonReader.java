@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads items for bulk import from a newline-delimited JSON stream, one item per line,
+ * and validates each of them. Blank lines are skipped.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemNdjsonReader {
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public List<ItemDto> read(InputStream body, int maxItems) throws IOException {
+        List<ItemDto> items = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (items.size() == maxItems) {
+                throw badRequest(lineNumber, String.format("at most %d items can be imported at once", maxItems));
+            }
+            items.add(parse(line, lineNumber));
+        }
+        if (items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No items to import");
+        }
+        return items;
+    }
+
+    private ItemDto parse(String line, int lineNumber) {
+        ItemDto item;
+        try {
+            item = objectMapper.readValue(line, ItemDto.class);
+        } catch (JsonProcessingException e) {
+            throw badRequest(lineNumber, e.getOriginalMessage());
+        }
+
+        Set<ConstraintViolation<ItemDto>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            throw badRequest(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return item;
+    }
+
+    private ResponseStatusException badRequest(int lineNumber, String reason) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format("Line %d: %s", lineNumber, reason));
+    }
+}
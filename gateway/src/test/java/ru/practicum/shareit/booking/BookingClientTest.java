@@ -0,0 +1,129 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BookingClientTest {
+    private BookingClient bookingClient;
+    private MockRestServiceServer server;
+    private BookingDtoRequest bookingDtoRequest;
+
+    @BeforeEach
+    void setUp() {
+        MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+        bookingClient = new BookingClient("http://localhost:9090", new RestTemplateBuilder(customizer));
+        server = customizer.getServer();
+        bookingDtoRequest = BookingDtoRequest.builder()
+                .itemId(1)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void create_ShouldForwardIdempotencyKey() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/bookings");
+        request.addHeader("Idempotency-Key", "key-1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        server.expect(requestTo("http://localhost:9090/bookings"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("Idempotency-Key", "key-1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        bookingClient.create(bookingDtoRequest, 1);
+
+        server.verify();
+    }
+
+    @Test
+    void getAndApprove_ShouldNotForwardIdempotencyKey() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/1");
+        request.addHeader("Idempotency-Key", "key-1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        server.expect(requestTo("http://localhost:9090/bookings/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(headerDoesNotExist("Idempotency-Key"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://localhost:9090/bookings/1?approved=true"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andExpect(headerDoesNotExist("Idempotency-Key"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        bookingClient.get(1, 1);
+        bookingClient.setApproved(1, 1, true);
+
+        server.verify();
+    }
+
+    @Test
+    void streamByOwner_ShouldCopyServerEvents() throws Exception {
+        server.expect(requestTo("http://localhost:9090/bookings/owner/stream"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("event:booking\ndata:{\"id\":1}\n\n", MediaType.TEXT_EVENT_STREAM));
+
+        ResponseEntity<StreamingResponseBody> response = bookingClient.streamByOwner(1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.TEXT_EVENT_STREAM);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("event:booking\ndata:{\"id\":1}\n\n");
+    }
+
+    @Test
+    void streamByOwner_ShouldPassServerErrorThrough_WhenUserIsUnknown() throws Exception {
+        server.expect(requestTo("http://localhost:9090/bookings/owner/stream"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"User with id 99 is not found.\"}"));
+
+        ResponseEntity<StreamingResponseBody> response = bookingClient.streamByOwner(99);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"error\":\"User with id 99 is not found.\"}");
+    }
+
+    @Test
+    void create_ShouldNotAddIdempotencyKey_WhenRequestHasNone() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        server.expect(requestTo("http://localhost:9090/bookings"))
+                .andExpect(headerDoesNotExist("Idempotency-Key"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        bookingClient.create(bookingDtoRequest, 1);
+
+        server.verify();
+    }
+}
@@ -11,13 +11,23 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -66,4 +76,58 @@ public class BookingControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getAll_ShouldRejectCursorWithoutId() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("afterStart", "2030-01-01T10:00:00"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(bookingClient, Mockito.never())
+                .getBookings(anyLong(), any(), anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void approveAll_ShouldRejectDecisionWithoutVerdict() throws Exception {
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"bookingId\": 1, \"approved\": true}, {\"bookingId\": 2}]"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(bookingClient, Mockito.never()).setApprovedAll(anyInt(), any());
+    }
+
+    @Test
+    void getOwnerStats_ShouldReturnStatusOk() throws Exception {
+        Mockito.when(bookingClient.getOwnerStats(1L)).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mockMvc.perform(get("/bookings/owner/stats")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void streamByOwner_ShouldPassServerEventsThrough() throws Exception {
+        StreamingResponseBody body = out -> out.write("event:booking\ndata:{\"id\":1}\n\n".getBytes(StandardCharsets.UTF_8));
+        Mockito.when(bookingClient.streamByOwner(1L))
+                .thenReturn(ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(body));
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/stream")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("event:booking\ndata:{\"id\":1}\n\n"));
+    }
 }
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItemController.class)
+@Import(ItemNdjsonReader.class)
+public class ItemControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void addBatch_ShouldForwardItemsReadFromNdjson() throws Exception {
+        when(itemClient.addBatch(anyList(), eq(1))).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\": \"Drill\", \"description\": \"Cordless\", \"available\": true}\n" +
+                                "\n" +
+                                "{\"name\": \"Saw\", \"description\": \"Hand saw\", \"available\": false, \"requestId\": 3}\n"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<List<ItemDto>> items = ArgumentCaptor.forClass(List.class);
+        verify(itemClient).addBatch(items.capture(), eq(1));
+        assertThat(items.getValue()).extracting(ItemDto::getName).containsExactly("Drill", "Saw");
+        assertThat(items.getValue().get(1).getRequestId()).isEqualTo(3);
+    }
+
+    @Test
+    void addBatch_ShouldRejectInvalidNdjsonLine() throws Exception {
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\": \"Drill\", \"description\": \"Cordless\", \"available\": true}\n" +
+                                "{\"name\": \"\", \"description\": \"Hand saw\", \"available\": false}\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertThat(result.getResponse().getErrorMessage()).startsWith("Line 2: name"));
+
+        verify(itemClient, never()).addBatch(anyList(), anyInt());
+    }
+
+    @Test
+    void getAvailability_ShouldRejectEmptyRange() throws Exception {
+        mockMvc.perform(get("/items/1/availability")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "2030-01-02T10:00:00")
+                        .param("to", "2030-01-01T10:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getAvailability(anyInt(), any(), any(), anyLong());
+    }
+
+    @Test
+    void find_ShouldRequireBothEndsOfPeriod() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("text", "drill")
+                        .param("start", "2030-01-02T10:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).findFree(any(), anyBoolean(), anyInt(), anyInt(), any(), any(), anyLong());
+    }
+
+    @Test
+    void addBatch_ShouldRejectInvalidItemInJsonArray() throws Exception {
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"Drill\", \"description\": \"Cordless\", \"available\": true}, " +
+                                "{\"name\": \"Saw\", \"description\": \"Hand saw\"}]"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).addBatch(anyList(), anyInt());
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.stats.ItemStatusCount;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingArchiveRepository extends JpaRepository<ArchivedBooking, Integer>,
+        JpaSpecificationExecutor<ArchivedBooking> {
+    boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(int bookerId, int itemId, BookingStatus status,
+                                                           LocalDateTime end);
+
+    @Query("select new ru.practicum.shareit.booking.stats.ItemStatusCount(b.item.id, b.status, count(b)) " +
+            "from ArchivedBooking b where b.item.owner.id = :ownerId group by b.item.id, b.status")
+    List<ItemStatusCount> countByOwnerGroupByItemAndStatus(@Param("ownerId") int ownerId);
+
+    @Modifying
+    @Query(value = "INSERT INTO bookings_archive (id, start_date, end_date, item_id, booker_id, status) " +
+            "SELECT id, start_date, end_date, item_id, booker_id, status FROM bookings WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyFromActive(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM bookings WHERE id IN (:ids)", nativeQuery = true)
+    int deleteFromActive(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Moves the bookings from the active table to the archive in one transaction. Returns the number of moved rows.
+     */
+    @Transactional
+    default int moveFromActive(Collection<Integer> ids) {
+        copyFromActive(ids);
+        return deleteFromActive(ids);
+    }
+}
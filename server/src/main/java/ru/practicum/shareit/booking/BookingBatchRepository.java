@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies many status decisions with a single JDBC batch in one transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingBatchRepository {
+    private static final String DECIDE_SQL = "UPDATE bookings SET status = ? WHERE id = ? AND status = 'WAITING'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Moves each WAITING booking to the status at the same position. Returns the updated row count per booking,
+     * zero means the booking was not WAITING anymore.
+     */
+    @Transactional
+    public int[] decideAll(List<Integer> bookingIds, List<BookingStatus> statuses) {
+        List<Object[]> args = new ArrayList<>(bookingIds.size());
+        for (int i = 0; i < bookingIds.size(); i++) {
+            args.add(new Object[]{statuses.get(i).name(), bookingIds.get(i)});
+        }
+        return jdbcTemplate.batchUpdate(DECIDE_SQL, args);
+    }
+}
@@ -1,12 +1,21 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.dto.OwnerBookingStatsDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.OwnerBookingStreams;
+import ru.practicum.shareit.booking.stats.OwnerBookingStats;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -17,7 +26,10 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final OwnerBookingStreams ownerBookingStreams;
+    private final OwnerBookingStats ownerBookingStats;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String UNBOUNDED_SIZE = "2147483647";
 
     @PostMapping
     public BookingDto create(@RequestBody BookingDtoRequest bookingDtoRequest,
@@ -32,6 +44,11 @@ public class BookingController {
         return bookingService.approve(bookingId, approved, userId);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> approveAll(@RequestHeader(USER_ID_HEADER) int userId,
+                                                     @RequestBody List<BookingDecisionDto> decisions) {
+        return bookingService.approveAll(decisions, userId);
+    }
 
     @GetMapping("/{bookingId}")
     public BookingDto get(@PathVariable int bookingId,
@@ -41,13 +58,31 @@ public class BookingController {
 
     @GetMapping
     public List<BookingDto> getAll(@RequestHeader(USER_ID_HEADER) int userId,
-                                   @RequestParam(name = "state", defaultValue = "ALL") BookingState bookingState) {
-        return bookingService.getAll(userId, bookingState);
+                                   @RequestParam(name = "state", defaultValue = "ALL") BookingState bookingState,
+                                   @RequestParam(defaultValue = "0") int from,
+                                   @RequestParam(defaultValue = UNBOUNDED_SIZE) int size,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                   @RequestParam(required = false) Integer afterId) {
+        return bookingService.getAll(userId, bookingState, from, size, afterStart, afterId);
     }
 
     @GetMapping("/owner")
     public List<BookingDto> getAllByOwner(@RequestHeader(USER_ID_HEADER) int userId,
-                                       @RequestParam(name = "state", defaultValue = "ALL") BookingState bookingState) {
-        return bookingService.getAllByOwner(userId, bookingState);
+                                       @RequestParam(name = "state", defaultValue = "ALL") BookingState bookingState,
+                                       @RequestParam(defaultValue = "0") int from,
+                                       @RequestParam(defaultValue = UNBOUNDED_SIZE) int size,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                       @RequestParam(required = false) Integer afterId) {
+        return bookingService.getAllByOwner(userId, bookingState, from, size, afterStart, afterId);
+    }
+
+    @GetMapping("/owner/stats")
+    public OwnerBookingStatsDto getOwnerStats(@RequestHeader(USER_ID_HEADER) int userId) {
+        return ownerBookingStats.get(userId);
+    }
+
+    @GetMapping(path = "/owner/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamByOwner(@RequestHeader(USER_ID_HEADER) int userId) {
+        return ownerBookingStreams.subscribe(userId);
     }
 }
@@ -3,8 +3,10 @@ package ru.practicum.shareit.booking;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.timeline.BookingSlot;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -21,6 +23,28 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingDto toBookingDto(ArchivedBooking booking) {
+        return BookingDto.builder()
+                .id(booking.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .item(booking.getItem())
+                .booker(booking.getBooker())
+                .status(booking.getStatus())
+                .build();
+    }
+
+    public static BookingDto toBookingDto(BookingSlot slot, Item item) {
+        return BookingDto.builder()
+                .id(slot.id())
+                .start(slot.start())
+                .end(slot.end())
+                .item(item)
+                .booker(slot.booker())
+                .status(slot.status())
+                .build();
+    }
+
     public static Booking toBooking(BookingDto bookingDto) {
         return Booking.builder()
                 .id(bookingDto.getId())
@@ -35,7 +59,6 @@ public class BookingMapper {
     public static Booking toBookingFromBookingRequest(BookingDtoRequest bookingDtoRequest,
                                                       Item item, User booker, BookingStatus status) {
         return Booking.builder()
-                .id(bookingDtoRequest.getItemId())
                 .start(bookingDtoRequest.getStart())
                 .end(bookingDtoRequest.getEnd())
                 .item(item)
@@ -1,40 +1,105 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.stats.BookingPeriod;
+import ru.practicum.shareit.booking.stats.ItemBookingPeriod;
+import ru.practicum.shareit.booking.stats.ItemStatusCount;
+import ru.practicum.shareit.booking.timeline.BookingSlot;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
-    List<Booking> findAllByBookerId(int bookerId);
-
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(int bookerId, LocalDateTime cur, LocalDateTime cur2);
-
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(int bookerId, LocalDateTime cur);
-
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(int bookerId, LocalDateTime cur);
-
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(int bookerId, BookingStatus status);
-
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(int ownerId);
-
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(int ownerId, LocalDateTime cur, LocalDateTime cur2);
-
-    List<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(int ownerId, LocalDateTime cur);
-
-    List<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(int ownerId, LocalDateTime cur);
-
-    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(int ownerId, BookingStatus status);
-
-    List<Booking> findAllByBookerIdAndItemId(int bookerId, int itemId);
-
-    Optional<Booking> findFirstByItemIdAndStartBeforeAndStatusNotOrderByStartDesc(int itemId, LocalDateTime cur, BookingStatus status);
-
-    Optional<Booking> findFirstByItemIdAndStartAfterAndStatusNotOrderByStart(int itemId, LocalDateTime cur, BookingStatus status);
+public interface BookingRepository extends JpaRepository<Booking, Integer>, JpaSpecificationExecutor<Booking> {
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    List<Booking> findAllByIdIn(Collection<Integer> ids);
+
+    boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(int bookerId, int itemId, BookingStatus status,
+                                                           LocalDateTime end);
+
+    /**
+     * Moves the booking to {@code status} only if it is still in {@code expected}, so concurrent decisions
+     * cannot overwrite each other. Returns the number of updated rows.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Booking b set b.status = :status where b.id = :id and b.status = :expected")
+    int updateStatus(@Param("id") int id,
+                     @Param("expected") BookingStatus expected,
+                     @Param("status") BookingStatus status);
+
+    /**
+     * Ids of bookings that ended before {@code endedBefore} and no longer matter for the item timeline: rejected
+     * and cancelled ones, and approved ones followed by another booking of the item that has already started.
+     * The last started booking of an item stays active because the item page shows it.
+     */
+    @Query(value = "SELECT b.id FROM bookings b " +
+            "WHERE b.end_date < :endedBefore AND b.status <> 'WAITING' " +
+            "AND (b.status <> 'APPROVED' OR EXISTS (SELECT 1 FROM bookings n " +
+            "WHERE n.item_id = b.item_id AND n.status IN ('WAITING', 'APPROVED') " +
+            "AND n.start_date > b.start_date AND n.start_date < :now)) " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Integer> findArchivableIds(@Param("endedBefore") LocalDateTime endedBefore,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("limit") int limit);
+
+    @Query("select new ru.practicum.shareit.booking.stats.ItemStatusCount(b.item.id, b.status, count(b)) " +
+            "from Booking b where b.item.owner.id = :ownerId group by b.item.id, b.status")
+    List<ItemStatusCount> countByOwnerGroupByItemAndStatus(@Param("ownerId") int ownerId);
+
+    @Query("select new ru.practicum.shareit.booking.stats.BookingPeriod(b.start, b.end) " +
+            "from Booking b where b.item.owner.id = :ownerId and b.end > :now")
+    List<BookingPeriod> findPeriodsByOwnerEndingAfter(@Param("ownerId") int ownerId,
+                                                      @Param("now") LocalDateTime now);
+
+    /**
+     * Returns periods of the owner's bookings in {@code statuses} that overlap {@code [from, to)}.
+     */
+    @Query("select new ru.practicum.shareit.booking.stats.ItemBookingPeriod(b.item.id, b.start, b.end) " +
+            "from Booking b where b.item.owner.id = :ownerId and b.status in :statuses " +
+            "and b.start < :to and b.end > :from")
+    List<ItemBookingPeriod> findPeriodsByOwnerOverlapping(@Param("ownerId") int ownerId,
+                                                          @Param("statuses") Collection<BookingStatus> statuses,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to);
+
+    @Query("select distinct b.item.id from Booking b " +
+            "where b.item.id in :itemIds and b.status in :statuses and b.start < :end and b.end > :start")
+    List<Integer> findBusyItemIds(@Param("itemIds") Collection<Integer> itemIds,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end,
+                                  @Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query("select new ru.practicum.shareit.booking.timeline.BookingSlot(b.id, b.item.id, b.start, b.end, b.status, bk) " +
+            "from Booking b join b.booker bk " +
+            "where b.status = :status and b.start < :before " +
+            "order by b.start, b.id")
+    List<BookingSlot> findSlotsByStatusAndStartBefore(@Param("status") BookingStatus status,
+                                                      @Param("before") LocalDateTime before,
+                                                      Limit limit);
+
+    /**
+     * Returns bookings of the items that end after {@code now}, plus the last one started before it. Older bookings
+     * no longer affect the item page, the calendar or overlap checks, so an item's history is never loaded.
+     */
+    @Query("select new ru.practicum.shareit.booking.timeline.BookingSlot(b.id, b.item.id, b.start, b.end, b.status, bk) " +
+            "from Booking b join b.booker bk " +
+            "where b.item.id in :itemIds and b.status in :statuses " +
+            "and (b.end > :now or b.start = (select max(l.start) from Booking l " +
+            "where l.item.id = b.item.id and l.status in :statuses and l.start < :now))")
+    List<BookingSlot> findRecentSlotsByItemIds(@Param("itemIds") Collection<Integer> itemIds,
+                                               @Param("statuses") Collection<BookingStatus> statuses,
+                                               @Param("now") LocalDateTime now);
 
 }
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exceptions.WrongStateParameterException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Predicates of the booking lists. A list is a user filter combined with a state filter, so booker and owner
+ * lists share one query path and the same (start desc, id desc) order backed by the composite indexes.
+ * The predicates apply to both active and archived bookings.
+ */
+public final class BookingSpecifications {
+    private BookingSpecifications() {
+    }
+
+    public static <T> Specification<T> byBooker(int bookerId) {
+        return (root, query, cb) -> cb.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    public static <T> Specification<T> byOwner(int ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("item").get("owner").get("id"), ownerId);
+    }
+
+    public static <T> Specification<T> inState(BookingState state, LocalDateTime now) {
+        return switch (state) {
+            case ALL -> Specification.where(null);
+            case CURRENT -> (root, query, cb) -> cb.and(
+                    cb.lessThan(root.get("start"), now),
+                    cb.greaterThan(root.get("end"), now));
+            case PAST -> (root, query, cb) -> cb.lessThan(root.get("end"), now);
+            case FUTURE -> (root, query, cb) -> cb.greaterThan(root.get("start"), now);
+            case WAITING -> (root, query, cb) -> cb.equal(root.get("status"), BookingStatus.WAITING);
+            case REJECTED -> throw new WrongStateParameterException("State parameter is wrong.");
+        };
+    }
+}
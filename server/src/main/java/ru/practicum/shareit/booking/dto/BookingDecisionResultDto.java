@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+/**
+ * Outcome of one decision of a bulk approval. {@code status} is the status of the booking after the call
+ * when it is known, {@code error} explains why the booking was left unchanged.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class BookingDecisionResultDto {
+    private int bookingId;
+    private boolean updated;
+    private BookingStatus status;
+    private String error;
+}
@@ -14,7 +14,7 @@ import java.time.LocalDateTime;
  */
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 public class BookingDto {
     private int id;
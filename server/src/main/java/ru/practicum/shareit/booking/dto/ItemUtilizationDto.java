@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Bookings of one item of the owner. {@code utilization} is the share of the upcoming window that is booked,
+ * from 0 to 1.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class ItemUtilizationDto {
+    private int itemId;
+    private long bookings;
+    private double utilization;
+}
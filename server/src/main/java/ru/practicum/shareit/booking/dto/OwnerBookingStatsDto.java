@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class OwnerBookingStatsDto {
+    private Map<BookingStatus, Long> byStatus;
+    private Map<BookingState, Long> byState;
+    private long utilizationWindowDays;
+    private List<ItemUtilizationDto> items;
+}
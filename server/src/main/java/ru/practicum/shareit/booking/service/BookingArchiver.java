@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingArchiveRepository;
+import ru.practicum.shareit.booking.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves bookings that ended more than {@code after} ago from {@code bookings} to {@code bookings_archive}, so
+ * CURRENT, FUTURE and WAITING lists and overlap checks only touch the small active set. Runs in batches like
+ * {@link ExpiredBookingSweeper}; each batch is copied and deleted in one transaction.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking-archive.enabled", havingValue = "true")
+public class BookingArchiver {
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final Duration after;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration pause;
+    private final Timer runs;
+    private final Counter archived;
+
+    public BookingArchiver(BookingRepository bookingRepository,
+                           BookingArchiveRepository bookingArchiveRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${shareit.booking-archive.after:30d}") Duration after,
+                           @Value("${shareit.booking-archive.batch-size:1000}") int batchSize,
+                           @Value("${shareit.booking-archive.max-batches:50}") int maxBatches,
+                           @Value("${shareit.booking-archive.pause:200ms}") Duration pause) {
+        this.bookingRepository = bookingRepository;
+        this.bookingArchiveRepository = bookingArchiveRepository;
+        this.after = after;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pause = pause;
+        this.runs = meterRegistry.timer("shareit.booking.archive.runs");
+        this.archived = meterRegistry.counter("shareit.booking.archive.moved");
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking-archive.initial-delay:PT10M}",
+            fixedDelayString = "${shareit.booking-archive.interval:PT1H}")
+    public void archive() {
+        int moved = runs.record(() -> archive(LocalDateTime.now()));
+        if (moved > 0) {
+            log.info("Archived {} bookings", moved);
+        }
+    }
+
+    /**
+     * Archives bookings that ended before {@code now - after} and returns how many were moved.
+     */
+    public int archive(LocalDateTime now) {
+        LocalDateTime endedBefore = now.minus(after);
+        int moved = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Integer> ids = bookingRepository.findArchivableIds(endedBefore, now, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            int batchMoved = bookingArchiveRepository.moveFromActive(ids);
+            archived.increment(batchMoved);
+            moved += batchMoved;
+
+            if (ids.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+        return moved;
+    }
+
+    private boolean pause() {
+        if (pause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
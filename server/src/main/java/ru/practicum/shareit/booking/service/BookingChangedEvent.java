@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+/**
+ * Published after a booking was created or changed its status. {@code previousStatus} is null for a new booking.
+ */
+public record BookingChangedEvent(int ownerId, BookingStatus previousStatus, BookingDto booking) {
+}
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.model.BookingState;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
@@ -13,7 +16,11 @@ public interface BookingService {
 
     BookingDto approve(int bookingId, boolean approved, int userId);
 
-    List<BookingDto> getAll(int userId, BookingState bookingState);
+    List<BookingDecisionResultDto> approveAll(List<BookingDecisionDto> decisions, int userId);
 
-    List<BookingDto> getAllByOwner(int userId, BookingState bookingState);
+    List<BookingDto> getAll(int userId, BookingState bookingState, int from, int size,
+                            LocalDateTime afterStart, Integer afterId);
+
+    List<BookingDto> getAllByOwner(int userId, BookingState bookingState, int from, int size,
+                                   LocalDateTime afterStart, Integer afterId);
 }
@@ -5,28 +5,59 @@ import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exceptions.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingArchiveRepository;
+import ru.practicum.shareit.booking.BookingBatchRepository;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingSpecifications;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final String OVERLAP_CONSTRAINT = "no_overlapping_bookings";
+    private static final Sort LIST_ORDER = Sort.by(Sort.Order.desc("start"), Sort.Order.desc("id"));
+
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingTimeline bookingTimeline;
+    private final ItemLocks itemLocks;
+    private final BookingBatchRepository bookingBatchRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
 
 
 
@@ -43,96 +74,235 @@ public class BookingServiceImpl implements BookingService {
         }
 
         Booking booking = BookingMapper.toBookingFromBookingRequest(bookingDtoRequest, item,booker, BookingStatus.WAITING);
-        Booking savedBooking = bookingRepository.save(booking);
-        return BookingMapper.toBookingDto(savedBooking);
+        Booking savedBooking = itemLocks.withLock(item.getId(), () -> {
+            checkNoOverlap(booking);
+            return saveAndTrack(booking);
+        });
+        eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
+        return published(savedBooking, null);
     }
 
+    /**
+     * A WAITING booking already holds its slot on the timeline, so approval needs no overlap check. The decision
+     * is a single conditional update, and the loser of two concurrent decisions gets a conflict.
+     */
     @Override
     public BookingDto approve(int bookingId, boolean approved, int userId) {
-        validateById(bookingId);
-        Booking booking = bookingRepository.findById(bookingId).get();
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking == null) {
+            if (bookingArchiveRepository.existsById(bookingId)) {
+                throw new BookingStatusConflictException(String.format("Booking with id %d is already archived.",
+                        bookingId));
+            }
+            throw new NotFoundException(String.format("Booking with id %d is not found.", bookingId));
+        }
         int ownerId = booking.getItem().getOwner().getId();
         if (ownerId != userId) {
             throw new BookingApproveAccessException("Only item owner can approve booking.");
         }
+        if (booking.getStatus() != BookingStatus.WAITING) {
+            throw new BookingStatusConflictException(String.format("Booking with id %d is already %s.",
+                    bookingId, booking.getStatus()));
+        }
         BookingStatus newStatus = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (bookingRepository.updateStatus(bookingId, BookingStatus.WAITING, newStatus) == 0) {
+            throw new BookingStatusConflictException(String.format("Booking with id %d was decided concurrently.",
+                    bookingId));
+        }
         booking.setStatus(newStatus);
+        bookingTimeline.onSaved(booking);
+        eventPublisher.publishEvent(new ItemChangedEvent(booking.getItem().getId()));
+        return published(booking, BookingStatus.WAITING);
+    }
+
+    /**
+     * Ownership of all bookings is checked with one query, the remaining decisions are applied with one JDBC
+     * batch of conditional updates. Results follow the order of the decisions.
+     */
+    @Override
+    public List<BookingDecisionResultDto> approveAll(List<BookingDecisionDto> decisions, int userId) {
+        Map<Integer, Booking> bookings = bookingRepository.findAllByIdIn(decisions.stream()
+                        .map(BookingDecisionDto::getBookingId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        BookingDecisionResultDto[] results = new BookingDecisionResultDto[decisions.size()];
+        List<Integer> pending = new ArrayList<>();
+        List<BookingStatus> newStatuses = new ArrayList<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            BookingDecisionDto decision = decisions.get(i);
+            Booking booking = bookings.get(decision.getBookingId());
+            if (booking == null) {
+                results[i] = rejected(decision.getBookingId(), null,
+                        String.format("Booking with id %d is not found.", decision.getBookingId()));
+            } else if (booking.getItem().getOwner().getId() != userId) {
+                results[i] = rejected(booking.getId(), null, "Only item owner can approve booking.");
+            } else if (booking.getStatus() != BookingStatus.WAITING) {
+                results[i] = rejected(booking.getId(), booking.getStatus(),
+                        String.format("Booking with id %d is already %s.", booking.getId(), booking.getStatus()));
+            } else {
+                pending.add(i);
+                newStatuses.add(decision.isApproved() ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+            }
+        }
+        if (pending.isEmpty()) {
+            return List.of(results);
+        }
+
+        int[] updated = bookingBatchRepository.decideAll(pending.stream()
+                .map(i -> decisions.get(i).getBookingId())
+                .toList(), newStatuses);
+        Set<Integer> changedItems = new HashSet<>();
+        for (int j = 0; j < pending.size(); j++) {
+            int i = pending.get(j);
+            Booking booking = bookings.get(decisions.get(i).getBookingId());
+            if (updated[j] == 0) {
+                results[i] = rejected(booking.getId(), null,
+                        String.format("Booking with id %d is no longer waiting.", booking.getId()));
+                continue;
+            }
+            booking.setStatus(newStatuses.get(j));
+            bookingTimeline.onSaved(booking);
+            changedItems.add(booking.getItem().getId());
+            published(booking, BookingStatus.WAITING);
+            results[i] = BookingDecisionResultDto.builder()
+                    .bookingId(booking.getId())
+                    .updated(true)
+                    .status(booking.getStatus())
+                    .build();
+        }
+        changedItems.forEach(itemId -> eventPublisher.publishEvent(new ItemChangedEvent(itemId)));
+        return List.of(results);
+    }
 
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+    private BookingDto published(Booking booking, BookingStatus previousStatus) {
+        BookingDto bookingDto = BookingMapper.toBookingDto(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(booking.getItem().getOwner().getId(), previousStatus,
+                bookingDto));
+        return bookingDto;
     }
 
+    private BookingDecisionResultDto rejected(int bookingId, BookingStatus status, String error) {
+        return BookingDecisionResultDto.builder()
+                .bookingId(bookingId)
+                .updated(false)
+                .status(status)
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Looks the booking up in the active table first and falls back to the archive.
+     */
     @Override
     public BookingDto get(int bookingId, int userId) {
-        validateById(bookingId);
-        Booking booking = bookingRepository.findById(bookingId).get();
+        BookingDto booking = bookingRepository.findById(bookingId)
+                .map(BookingMapper::toBookingDto)
+                .or(() -> bookingArchiveRepository.findById(bookingId).map(BookingMapper::toBookingDto))
+                .orElseThrow(() -> new NotFoundException(String.format("Booking with id %d is not found.", bookingId)));
         int bookingBookerId = booking.getBooker().getId();
         int itemOwnerId = booking.getItem().getOwner().getId();
         if (userId != bookingBookerId && userId != itemOwnerId) {
             throw new AccessException("Only booker or item owner can booking details.");
         }
-        return BookingMapper.toBookingDto(bookingRepository.findById(bookingId).get());
+        return booking;
     }
 
     @Override
-    public List<BookingDto> getAll(int userId, BookingState bookingState) {
+    public List<BookingDto> getAll(int userId, BookingState bookingState, int from, int size,
+                                   LocalDateTime afterStart, Integer afterId) {
         userService.validateById(userId);
-        List<Booking> bookingList = new ArrayList<>();
-        LocalDateTime currentTime = LocalDateTime.now();
-        switch (bookingState) {
-            case ALL:
-                bookingList = bookingRepository.findAllByBookerId(userId);
-                break;
-            case CURRENT:
-                bookingList = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId,
-                        currentTime, currentTime);
-                break;
-            case PAST:
-                bookingList = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, currentTime);
-                break;
-            case FUTURE:
-                bookingList = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(userId, currentTime);
-                break;
-            case WAITING:
-                bookingList = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING);
-                break;
-            case REJECTED:
-                throw new WrongStateParameterException("State parameter is wrong.");
-        }
-        return bookingList.stream().map(BookingMapper::toBookingDto).toList();
+        return find(BookingSpecifications.byBooker(userId), BookingSpecifications.byBooker(userId),
+                bookingState, from, size, afterStart, afterId);
     }
 
-    public List<BookingDto> getAllByOwner(int userId, BookingState bookingState) {
+    @Override
+    public List<BookingDto> getAllByOwner(int userId, BookingState bookingState, int from, int size,
+                                          LocalDateTime afterStart, Integer afterId) {
         userService.validateById(userId);
+        return find(BookingSpecifications.byOwner(userId), BookingSpecifications.byOwner(userId),
+                bookingState, from, size, afterStart, afterId);
+    }
+
+    private List<BookingDto> find(Specification<Booking> user, Specification<ArchivedBooking> archivedUser,
+                                  BookingState bookingState, int from, int size,
+                                  LocalDateTime afterStart, Integer afterId) {
+        LocalDateTime now = LocalDateTime.now();
+        Specification<Booking> specification = user.and(BookingSpecifications.inState(bookingState, now));
+        if (bookingState != BookingState.ALL && bookingState != BookingState.PAST) {
+            return scroll(bookingRepository, specification, size, position(from, afterStart, afterId)).stream()
+                    .map(BookingMapper::toBookingDto)
+                    .toList();
+        }
 
+        // Only ALL and PAST can contain archived bookings. Both tables are read up to the end of the requested
+        // page in the same order and merged, an offset is applied to the merged list.
+        Specification<ArchivedBooking> archivedSpecification = archivedUser
+                .and(BookingSpecifications.inState(bookingState, now));
+        boolean keyset = afterStart != null && afterId != null;
+        int limit = keyset ? size : (int) Math.min((long) from + size, Integer.MAX_VALUE);
+        ScrollPosition position = keyset ? position(0, afterStart, afterId) : ScrollPosition.offset();
+        return Stream.concat(
+                        scroll(bookingRepository, specification, limit, position).stream()
+                                .map(BookingMapper::toBookingDto),
+                        scroll(bookingArchiveRepository, archivedSpecification, limit, position).stream()
+                                .map(BookingMapper::toBookingDto))
+                .sorted(Comparator.comparing(BookingDto::getStart).thenComparing(BookingDto::getId).reversed())
+                .skip(keyset ? 0 : from)
+                .limit(size)
+                .toList();
+    }
+
+    /**
+     * The scroll reads one row past the limit to know whether there is a next window, so an unbounded size is
+     * capped one below the int range.
+     */
+    private <T> Window<T> scroll(JpaSpecificationExecutor<T> repository, Specification<T> specification, int limit,
+                                 ScrollPosition position) {
+        return repository.findBy(specification, query -> query
+                .project("item", "item.owner", "booker")
+                .sortBy(LIST_ORDER)
+                .limit(Math.min(limit, Integer.MAX_VALUE - 1))
+                .scroll(position));
+    }
+
+    /**
+     * Keyset position after the last booking of the previous page when the client passes it back,
+     * otherwise a plain offset. Both follow {@link #LIST_ORDER}.
+     */
+    private ScrollPosition position(int from, LocalDateTime afterStart, Integer afterId) {
+        if (afterStart != null && afterId != null) {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("start", afterStart);
+            keys.put("id", afterId);
+            return ScrollPosition.forward(keys);
+        }
+        return from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1);
+    }
 
-        List<Booking> bookingList = new ArrayList<>();
-        LocalDateTime currentTime = LocalDateTime.now();
-        switch (bookingState) {
-            case ALL:
-                bookingList = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId);
-                break;
-            case CURRENT:
-                bookingList = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId,
-                        currentTime, currentTime);
-                break;
-            case PAST:
-                bookingList = bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, currentTime);
-                break;
-            case FUTURE:
-                bookingList = bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(userId, currentTime);
-                break;
-            case WAITING:
-                bookingList = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING);
-                break;
-            case REJECTED:
-                throw new WrongStateParameterException("State parameter is wrong.");
+    private void checkNoOverlap(Booking booking) {
+        if (bookingTimeline.overlaps(booking.getItem().getId(), booking.getStart(), booking.getEnd(), booking.getId())) {
+            throw new BookingOverlapException(String.format("Item with id %d is already booked for these dates.",
+                    booking.getItem().getId()));
         }
-        return bookingList.stream().map(BookingMapper::toBookingDto).toList();
     }
 
-    private void validateById(int id) {
-        if (!bookingRepository.existsById(id)) {
-            throw new NotFoundException(String.format("Booking with id %d is not found.", id));
+    /**
+     * Saves the booking and applies it to the item timeline. The exclusion constraint on PostgreSQL catches
+     * overlaps created concurrently by another server instance.
+     */
+    private Booking saveAndTrack(Booking booking) {
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (String.valueOf(e.getMostSpecificCause().getMessage()).contains(OVERLAP_CONSTRAINT)) {
+                throw new BookingOverlapException(String.format("Item with id %d is already booked for these dates.",
+                        booking.getItem().getId()));
+            }
+            throw e;
         }
+        bookingTimeline.onSaved(savedBooking);
+        return savedBooking;
     }
 }
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingBatchRepository;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.timeline.BookingSlot;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cancels WAITING bookings whose start has passed, so they stop showing up in WAITING and CURRENT lists.
+ * A run takes at most {@code max-batches} batches of {@code batch-size} oldest bookings, found through the
+ * (status, start_date) index, and sleeps {@code pause} between batches to leave the database to requests.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking-sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class ExpiredBookingSweeper {
+    private final BookingRepository bookingRepository;
+    private final BookingBatchRepository bookingBatchRepository;
+    private final BookingTimeline bookingTimeline;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration pause;
+    private final Timer runs;
+    private final Counter batches;
+    private final Counter expired;
+
+    public ExpiredBookingSweeper(BookingRepository bookingRepository,
+                                 BookingBatchRepository bookingBatchRepository,
+                                 BookingTimeline bookingTimeline,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${shareit.booking-sweeper.batch-size:500}") int batchSize,
+                                 @Value("${shareit.booking-sweeper.max-batches:20}") int maxBatches,
+                                 @Value("${shareit.booking-sweeper.pause:200ms}") Duration pause) {
+        this.bookingRepository = bookingRepository;
+        this.bookingBatchRepository = bookingBatchRepository;
+        this.bookingTimeline = bookingTimeline;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pause = pause;
+        this.runs = meterRegistry.timer("shareit.booking.sweeper.runs");
+        this.batches = meterRegistry.counter("shareit.booking.sweeper.batches");
+        this.expired = meterRegistry.counter("shareit.booking.sweeper.expired");
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking-sweeper.initial-delay:PT1M}",
+            fixedDelayString = "${shareit.booking-sweeper.interval:PT5M}")
+    public void sweep() {
+        int cancelled = runs.record(() -> sweep(LocalDateTime.now()));
+        if (cancelled > 0) {
+            log.info("Cancelled {} expired waiting bookings", cancelled);
+        }
+    }
+
+    /**
+     * Cancels WAITING bookings starting before {@code now} and returns how many were cancelled. A booking
+     * decided by its owner between the select and the update is left as it is.
+     */
+    public int sweep(LocalDateTime now) {
+        int cancelled = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<BookingSlot> slots = bookingRepository.findSlotsByStatusAndStartBefore(BookingStatus.WAITING, now,
+                    Limit.of(batchSize));
+            if (slots.isEmpty()) {
+                break;
+            }
+
+            int[] updated = bookingBatchRepository.decideAll(slots.stream().map(BookingSlot::id).toList(),
+                    Collections.nCopies(slots.size(), BookingStatus.CANCELED));
+            Set<Integer> changedItems = new HashSet<>();
+            List<Integer> cancelledIds = new ArrayList<>();
+            for (int i = 0; i < slots.size(); i++) {
+                if (updated[i] > 0) {
+                    BookingSlot slot = slots.get(i);
+                    bookingTimeline.onSaved(new BookingSlot(slot.id(), slot.itemId(), slot.start(), slot.end(),
+                            BookingStatus.CANCELED, slot.booker()));
+                    changedItems.add(slot.itemId());
+                    cancelledIds.add(slot.id());
+                }
+            }
+            changedItems.forEach(itemId -> eventPublisher.publishEvent(new ItemChangedEvent(itemId)));
+            publishCancelled(cancelledIds);
+            batches.increment();
+            expired.increment(cancelledIds.size());
+            cancelled += cancelledIds.size();
+
+            if (slots.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+        return cancelled;
+    }
+
+    private void publishCancelled(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (Booking booking : bookingRepository.findAllByIdIn(ids)) {
+            eventPublisher.publishEvent(new BookingChangedEvent(booking.getItem().getOwner().getId(),
+                    BookingStatus.WAITING, BookingMapper.toBookingDto(booking)));
+        }
+    }
+
+    private boolean pause() {
+        if (pause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
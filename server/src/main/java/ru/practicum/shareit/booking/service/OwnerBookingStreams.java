@@ -0,0 +1,161 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events streams of booking changes on the items of an owner.
+ * Publishing only puts the event into a bounded buffer of every subscriber, events are written to the connection
+ * by a virtual thread per busy subscriber. A subscriber whose buffer overflows is disconnected instead of slowing
+ * down the publisher or silently losing events; the client reconnects and reloads the list once. The emitter is
+ * completed by the sender thread, because completing it waits for a send that may be stuck on the connection.
+ */
+@Slf4j
+@Component
+public class OwnerBookingStreams {
+    private final Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final UserService userService;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Counter overflows;
+
+    public OwnerBookingStreams(UserService userService,
+                               MeterRegistry meterRegistry,
+                               @Value("${shareit.booking-stream.buffer-size:256}") int bufferSize,
+                               @Value("${shareit.booking-stream.timeout:30m}") Duration timeout) {
+        this.userService = userService;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.overflows = meterRegistry.counter("shareit.booking.stream.overflows");
+        meterRegistry.gauge("shareit.booking.stream.subscribers", subscriberCount);
+    }
+
+    public SseEmitter subscribe(int ownerId) {
+        userService.validateById(ownerId);
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        subscribe(ownerId, emitter);
+        return emitter;
+    }
+
+    public void subscribe(int ownerId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(ownerId, emitter);
+        subscribers.computeIfAbsent(ownerId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        Set<Subscriber> ownerSubscribers = subscribers.get(event.ownerId());
+        if (ownerSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : ownerSubscribers) {
+            subscriber.offer(SseEmitter.event()
+                    .id(String.valueOf(event.booking().getId()))
+                    .name("booking")
+                    .data(event.booking(), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and finds subscribers that went away.
+     */
+    @Scheduled(fixedDelayString = "${shareit.booking-stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        subscribers.values().forEach(ownerSubscribers ->
+                ownerSubscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(ownerSubscribers -> ownerSubscribers.forEach(s -> s.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private void remove(Subscriber subscriber) {
+        Set<Subscriber> ownerSubscribers = subscribers.get(subscriber.ownerId);
+        if (ownerSubscribers != null && ownerSubscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.ownerId, (id, set) -> set.isEmpty() ? null : set);
+        }
+    }
+
+    private final class Subscriber {
+        private final int ownerId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closing = new AtomicBoolean();
+
+        private Subscriber(int ownerId, SseEmitter emitter) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closing.get()) {
+                return;
+            }
+            if (!buffer.offer(event) && closing.compareAndSet(false, true)) {
+                log.debug("Booking stream of owner {} is too slow, disconnecting", ownerId);
+                overflows.increment();
+                remove(this);
+                buffer.clear();
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closing.get() && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+                if (closing.get()) {
+                    buffer.clear();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove(this);
+                buffer.clear();
+            } finally {
+                sending.set(false);
+            }
+            if (!buffer.isEmpty() && sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+    }
+}
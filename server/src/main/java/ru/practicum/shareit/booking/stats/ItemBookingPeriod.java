@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.stats;
+
+import java.time.LocalDateTime;
+
+public record ItemBookingPeriod(int itemId, LocalDateTime start, LocalDateTime end) {
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.stats;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+/**
+ * Number of bookings of one item in one status.
+ */
+public record ItemStatusCount(int itemId, BookingStatus status, long count) {
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.booking.stats;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingArchiveRepository;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemUtilizationDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingStatsDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingChangedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Booking statistics of owners. Counters of an owner are loaded with two aggregate queries on first use and are
+ * then kept up to date by {@link BookingChangedEvent}s. Utilization is computed from the bookings that overlap the
+ * utilization window only, so no item history is loaded.
+ */
+@Component
+public class OwnerBookingStats {
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final ItemRepository itemRepository;
+    private final UserService userService;
+    private final Duration utilizationWindow;
+    private final Cache<Integer, OwnerCounters> counters;
+    private final AtomicLong writes = new AtomicLong();
+
+    public OwnerBookingStats(BookingRepository bookingRepository,
+                             BookingArchiveRepository bookingArchiveRepository,
+                             ItemRepository itemRepository,
+                             UserService userService,
+                             @Value("${shareit.booking-stats.utilization-window:30d}") Duration utilizationWindow,
+                             @Value("${shareit.booking-stats.maximum-size:10000}") long maximumSize,
+                             @Value("${shareit.booking-stats.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.bookingRepository = bookingRepository;
+        this.bookingArchiveRepository = bookingArchiveRepository;
+        this.itemRepository = itemRepository;
+        this.userService = userService;
+        this.utilizationWindow = utilizationWindow;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public OwnerBookingStatsDto get(int ownerId) {
+        return get(ownerId, LocalDateTime.now());
+    }
+
+    public OwnerBookingStatsDto get(int ownerId, LocalDateTime now) {
+        userService.validateById(ownerId);
+        OwnerCounters ownerCounters = counters(ownerId, now);
+
+        Map<Integer, Long> byItem = ownerCounters.byItem();
+        LocalDateTime to = now.plus(utilizationWindow);
+        Map<Integer, List<ItemBookingPeriod>> periods = bookingRepository.findPeriodsByOwnerOverlapping(ownerId,
+                        List.of(BookingStatus.WAITING, BookingStatus.APPROVED), now, to).stream()
+                .collect(Collectors.groupingBy(ItemBookingPeriod::itemId));
+        List<Integer> itemIds = itemRepository.findIdsByOwnerId(ownerId);
+        List<ItemUtilizationDto> items = new ArrayList<>(itemIds.size());
+        for (int itemId : itemIds) {
+            items.add(ItemUtilizationDto.builder()
+                    .itemId(itemId)
+                    .bookings(byItem.getOrDefault(itemId, 0L))
+                    .utilization(utilization(periods.getOrDefault(itemId, List.of()), now, to))
+                    .build());
+        }
+
+        return OwnerBookingStatsDto.builder()
+                .byStatus(ownerCounters.byStatus())
+                .byState(ownerCounters.byState(now))
+                .utilizationWindowDays(utilizationWindow.toDays())
+                .items(items)
+                .build();
+    }
+
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        writes.incrementAndGet();
+        BookingDto booking = event.booking();
+        LocalDateTime now = LocalDateTime.now();
+        counters.asMap().computeIfPresent(event.ownerId(), (id, ownerCounters) -> {
+            if (event.previousStatus() == null) {
+                ownerCounters.onCreated(booking.getItem().getId(), booking.getStatus(),
+                        new BookingPeriod(booking.getStart(), booking.getEnd()), now);
+            } else {
+                ownerCounters.onStatusChanged(event.previousStatus(), booking.getStatus());
+            }
+            return ownerCounters;
+        });
+    }
+
+    /**
+     * Returns the cached counters or loads them. Loaded counters are only cached if no booking changed meanwhile,
+     * otherwise they could miss that change.
+     */
+    private OwnerCounters counters(int ownerId, LocalDateTime now) {
+        OwnerCounters cached = counters.getIfPresent(ownerId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long seen = writes.get();
+        List<ItemStatusCount> counts = new ArrayList<>(bookingRepository.countByOwnerGroupByItemAndStatus(ownerId));
+        counts.addAll(bookingArchiveRepository.countByOwnerGroupByItemAndStatus(ownerId));
+        OwnerCounters loaded = new OwnerCounters(counts,
+                bookingRepository.findPeriodsByOwnerEndingAfter(ownerId, now), now);
+        OwnerCounters result = counters.asMap().compute(ownerId,
+                (id, current) -> current != null || writes.get() != seen ? current : loaded);
+        return result != null ? result : loaded;
+    }
+
+    /**
+     * Share of the next {@code utilization-window} that is taken by waiting and approved bookings.
+     */
+    private double utilization(List<ItemBookingPeriod> periods, LocalDateTime from, LocalDateTime to) {
+        long busy = 0;
+        LocalDateTime covered = from;
+        for (ItemBookingPeriod period : periods.stream()
+                .sorted(Comparator.comparing(ItemBookingPeriod::start)).toList()) {
+            LocalDateTime start = period.start().isAfter(covered) ? period.start() : covered;
+            LocalDateTime end = period.end().isBefore(to) ? period.end() : to;
+            if (end.isAfter(start)) {
+                busy += Duration.between(start, end).toSeconds();
+                covered = end;
+            }
+        }
+        return (double) busy / utilizationWindow.toSeconds();
+    }
+}
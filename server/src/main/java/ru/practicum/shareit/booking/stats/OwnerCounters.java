@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking.stats;
+
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Booking counters of one owner. Status counts change with booking events. State counts also change as time
+ * passes, so future bookings are queued by start and current ones by end, and {@link #rollOver} moves the
+ * bookings whose start or end has passed. Only unfinished bookings are held in memory.
+ */
+final class OwnerCounters {
+    private final Map<BookingStatus, Long> byStatus = new EnumMap<>(BookingStatus.class);
+    private final Map<Integer, Long> byItem = new TreeMap<>();
+    private final PriorityQueue<BookingPeriod> upcoming = new PriorityQueue<>(Comparator.comparing(BookingPeriod::start));
+    private final PriorityQueue<LocalDateTime> ending = new PriorityQueue<>();
+    private long total;
+    private long future;
+    private long current;
+
+    OwnerCounters(List<ItemStatusCount> counts, List<BookingPeriod> unfinished, LocalDateTime now) {
+        for (ItemStatusCount count : counts) {
+            byStatus.merge(count.status(), count.count(), Long::sum);
+            byItem.merge(count.itemId(), count.count(), Long::sum);
+            total += count.count();
+        }
+        unfinished.forEach(period -> track(period, now));
+    }
+
+    synchronized void onCreated(int itemId, BookingStatus status, BookingPeriod period, LocalDateTime now) {
+        byStatus.merge(status, 1L, Long::sum);
+        byItem.merge(itemId, 1L, Long::sum);
+        total++;
+        track(period, now);
+    }
+
+    synchronized void onStatusChanged(BookingStatus previous, BookingStatus status) {
+        byStatus.merge(previous, -1L, Long::sum);
+        byStatus.merge(status, 1L, Long::sum);
+    }
+
+    synchronized Map<BookingStatus, Long> byStatus() {
+        Map<BookingStatus, Long> result = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            result.put(status, byStatus.getOrDefault(status, 0L));
+        }
+        return result;
+    }
+
+    synchronized Map<BookingState, Long> byState(LocalDateTime now) {
+        rollOver(now);
+        Map<BookingState, Long> result = new EnumMap<>(BookingState.class);
+        result.put(BookingState.ALL, total);
+        result.put(BookingState.CURRENT, current);
+        result.put(BookingState.PAST, total - current - future);
+        result.put(BookingState.FUTURE, future);
+        result.put(BookingState.WAITING, byStatus.getOrDefault(BookingStatus.WAITING, 0L));
+        result.put(BookingState.REJECTED, byStatus.getOrDefault(BookingStatus.REJECTED, 0L));
+        return result;
+    }
+
+    synchronized Map<Integer, Long> byItem() {
+        return new TreeMap<>(byItem);
+    }
+
+    private void track(BookingPeriod period, LocalDateTime now) {
+        if (period.start().isAfter(now)) {
+            upcoming.add(period);
+            future++;
+        } else if (period.end().isAfter(now)) {
+            ending.add(period.end());
+            current++;
+        }
+    }
+
+    private void rollOver(LocalDateTime now) {
+        List<BookingPeriod> started = new ArrayList<>();
+        while (!upcoming.isEmpty() && !upcoming.peek().start().isAfter(now)) {
+            started.add(upcoming.poll());
+            future--;
+        }
+        started.forEach(period -> track(period, now));
+        while (!ending.isEmpty() && !ending.peek().isAfter(now)) {
+            ending.poll();
+            current--;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.timeline;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Booking as kept in an item timeline: the interval and what is needed to show it on the item page.
+ */
+public record BookingSlot(int id, int itemId, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                          User booker) {
+    static final Comparator<BookingSlot> BY_START = Comparator.comparing(BookingSlot::start)
+            .thenComparingInt(BookingSlot::id);
+
+    public static BookingSlot of(Booking booking) {
+        return new BookingSlot(booking.getId(), booking.getItem().getId(), booking.getStart(), booking.getEnd(),
+                booking.getStatus(), booking.getBooker());
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking.timeline;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory booking timelines of recently viewed items. A timeline is loaded from the database on first
+ * use, in bulk for item listings, and is then kept up to date by {@link #onSaved(Booking)}. Only bookings
+ * that have not ended yet and the last started one are loaded.
+ */
+@Component
+public class BookingTimeline {
+    private final BookingRepository bookingRepository;
+    private final Cache<Integer, ItemTimeline> timelines;
+    private final AtomicLong writes = new AtomicLong();
+
+    public BookingTimeline(BookingRepository bookingRepository,
+                           @Value("${shareit.booking-timeline.maximum-size:10000}") long maximumSize,
+                           @Value("${shareit.booking-timeline.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.bookingRepository = bookingRepository;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public ItemTimeline get(int itemId) {
+        return getAll(List.of(itemId)).get(itemId);
+    }
+
+    /**
+     * Returns timelines of the given items, loading the missing ones with a single query. A loaded timeline
+     * is only cached if no booking was saved meanwhile, otherwise it could miss that booking.
+     */
+    public Map<Integer, ItemTimeline> getAll(Collection<Integer> itemIds) {
+        Map<Integer, ItemTimeline> result = new HashMap<>(timelines.getAllPresent(itemIds));
+        List<Integer> missing = itemIds.stream().filter(id -> !result.containsKey(id)).distinct().toList();
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long seen = writes.get();
+        Map<Integer, List<BookingSlot>> loaded = bookingRepository
+                .findRecentSlotsByItemIds(missing, List.of(BookingStatus.WAITING, BookingStatus.APPROVED),
+                        LocalDateTime.now()).stream()
+                .collect(Collectors.groupingBy(BookingSlot::itemId));
+        for (Integer itemId : missing) {
+            ItemTimeline timeline = new ItemTimeline(loaded.getOrDefault(itemId, List.of()));
+            ItemTimeline cached = timelines.asMap().compute(itemId,
+                    (id, current) -> current != null || writes.get() != seen ? current : timeline);
+            result.put(itemId, cached != null ? cached : timeline);
+        }
+        return result;
+    }
+
+    public boolean overlaps(int itemId, LocalDateTime start, LocalDateTime end, int ignoredBookingId) {
+        return get(itemId).overlaps(start, end, ignoredBookingId);
+    }
+
+    /**
+     * Applies a created or updated booking to the timeline of its item, if that timeline is loaded.
+     * Must be called after the booking is saved.
+     */
+    public void onSaved(Booking booking) {
+        onSaved(BookingSlot.of(booking));
+    }
+
+    public void onSaved(BookingSlot slot) {
+        writes.incrementAndGet();
+        timelines.asMap().computeIfPresent(slot.itemId(), (id, timeline) -> {
+            timeline.put(slot);
+            return timeline;
+        });
+    }
+}
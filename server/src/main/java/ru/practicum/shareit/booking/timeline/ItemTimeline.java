@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking.timeline;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Waiting and approved bookings of one item ordered by start. Bookings that ended before the last started
+ * one no longer affect the item page and are dropped as time passes.
+ */
+public class ItemTimeline {
+    private final NavigableSet<BookingSlot> slots = new TreeSet<>(BookingSlot.BY_START);
+    private final Map<Integer, BookingSlot> slotsById = new HashMap<>();
+    private Duration longest = Duration.ZERO;
+
+    ItemTimeline(Collection<BookingSlot> bookings) {
+        bookings.forEach(this::put);
+    }
+
+    public static boolean isActive(BookingStatus status) {
+        return status == BookingStatus.WAITING || status == BookingStatus.APPROVED;
+    }
+
+    /**
+     * Adds the booking or applies its new interval and status. Rejected and canceled bookings are removed.
+     */
+    synchronized void put(BookingSlot booking) {
+        BookingSlot previous = slotsById.remove(booking.id());
+        if (previous != null) {
+            slots.remove(previous);
+        }
+        if (isActive(booking.status())) {
+            slots.add(booking);
+            slotsById.put(booking.id(), booking);
+            Duration length = Duration.between(booking.start(), booking.end());
+            if (length.compareTo(longest) > 0) {
+                longest = length;
+            }
+        }
+    }
+
+    /**
+     * Checks whether {@code [start, end)} intersects any booking other than {@code ignoredId}. Walks back from
+     * the last booking starting before {@code end} and stops at the first one that cannot reach {@code start}
+     * even if it were the longest booking of the item, so only neighbouring bookings are visited.
+     */
+    public synchronized boolean overlaps(LocalDateTime start, LocalDateTime end, int ignoredId) {
+        if (!start.isBefore(end)) {
+            return false;
+        }
+        LocalDateTime horizon = start.minus(longest);
+        for (BookingSlot slot : slots.headSet(probe(end, Integer.MIN_VALUE), false).descendingSet()) {
+            if (!slot.start().isAfter(horizon)) {
+                return false;
+            }
+            if (slot.id() != ignoredId && slot.end().isAfter(start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the booking with the latest start before {@code now} and the one with the earliest start after it.
+     */
+    public synchronized Summary summary(LocalDateTime now) {
+        BookingSlot last = slots.lower(probe(now, Integer.MIN_VALUE));
+        rollForward(last, now);
+        return new Summary(last, slots.higher(probe(now, Integer.MAX_VALUE)));
+    }
+
+    /**
+     * Returns the gaps between bookings within {@code [from, to)}, in chronological order.
+     */
+    public synchronized List<Interval> freeWindows(LocalDateTime from, LocalDateTime to) {
+        List<Interval> windows = new ArrayList<>();
+        LocalDateTime cursor = from;
+        BookingSlot lowest = probe(from.minus(longest), Integer.MIN_VALUE);
+        for (BookingSlot slot : slots.subSet(lowest, true, probe(to, Integer.MIN_VALUE), false)) {
+            if (!slot.end().isAfter(cursor)) {
+                continue;
+            }
+            if (slot.start().isAfter(cursor)) {
+                windows.add(new Interval(cursor, slot.start()));
+            }
+            cursor = slot.end();
+            if (!cursor.isBefore(to)) {
+                return windows;
+            }
+        }
+        windows.add(new Interval(cursor, to));
+        return windows;
+    }
+
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    private void rollForward(BookingSlot last, LocalDateTime now) {
+        while (last != null && !slots.isEmpty()) {
+            BookingSlot first = slots.first();
+            if (first == last || first.end().isAfter(now)) {
+                return;
+            }
+            slots.pollFirst();
+            slotsById.remove(first.id());
+        }
+    }
+
+    private static BookingSlot probe(LocalDateTime time, int id) {
+        return new BookingSlot(id, 0, time, time, null, null);
+    }
+
+    public record Summary(BookingSlot last, BookingSlot next) {
+    }
+
+    public record Interval(LocalDateTime start, LocalDateTime end) {
+    }
+}
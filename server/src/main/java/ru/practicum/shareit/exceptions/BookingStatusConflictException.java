@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exceptions;
+
+public class BookingStatusConflictException extends RuntimeException {
+    public BookingStatusConflictException(String message) {
+        super(message);
+    }
+
+}
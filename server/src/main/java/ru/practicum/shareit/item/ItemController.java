@@ -1,12 +1,16 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoExport;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -19,6 +23,7 @@ import java.util.List;
 public class ItemController {
     private final ItemService itemService;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String UNBOUNDED_SIZE = "2147483647";
 
     @PostMapping
     public ItemDto add(@RequestBody ItemDto itemDto,
@@ -26,6 +31,12 @@ public class ItemController {
         return itemService.add(itemDto, ownerId);
     }
 
+    @PostMapping("/batch")
+    public ItemBatchResultDto addBatch(@RequestBody List<ItemDto> itemDtos,
+                                       @RequestHeader(USER_ID_HEADER) int ownerId) {
+        return itemService.addBatch(itemDtos, ownerId);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestBody ItemDto newItemDto,
                           @PathVariable int itemId,
@@ -39,14 +50,38 @@ public class ItemController {
         return itemService.getById(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilityWindowDto> getAvailability(@PathVariable int itemId,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @GetMapping
-    public List<ItemDto> getAll(@RequestHeader(USER_ID_HEADER) int ownerId) {
-        return itemService.getAll(ownerId);
+    public List<ItemDto> getAll(@RequestHeader(USER_ID_HEADER) int ownerId,
+                                @RequestParam(defaultValue = "0") int after,
+                                @RequestParam(defaultValue = UNBOUNDED_SIZE) int size) {
+        return itemService.getAll(ownerId, after, size);
     }
 
     @GetMapping("/search")
-    public List<ItemDto> find(@RequestParam("text") String text) {
-        return itemService.find(text);
+    public List<ItemDto> find(@RequestParam("text") String text,
+                              @RequestParam(defaultValue = "false") boolean fuzzy,
+                              @RequestParam(defaultValue = "0") int from,
+                              @RequestParam(defaultValue = UNBOUNDED_SIZE) int size,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        if (start != null && end != null) {
+            return fuzzy ? itemService.findFuzzyFree(text, from, size, start, end)
+                    : itemService.findFree(text, from, size, start, end);
+        }
+        return fuzzy ? itemService.findFuzzy(text, from, size) : itemService.find(text, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggest(@RequestParam("prefix") String prefix,
+                                @RequestParam(defaultValue = "10") int size) {
+        return itemService.suggest(prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
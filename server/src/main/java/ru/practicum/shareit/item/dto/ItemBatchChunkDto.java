@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Throughput of one committed chunk of a bulk import.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class ItemBatchChunkDto {
+    private int chunk;
+    private int size;
+    private long millis;
+    private long itemsPerSecond;
+}
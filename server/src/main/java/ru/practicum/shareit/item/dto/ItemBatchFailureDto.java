@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * The chunk of a bulk import that was rolled back, together with the reason.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class ItemBatchFailureDto {
+    private int chunk;
+    private String error;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class ItemBatchResultDto {
+    private int created;
+    private List<ItemDto> items;
+    private List<ItemBatchChunkDto> chunks;
+    private ItemBatchFailureDto failure;
+}
@@ -12,7 +12,7 @@ import java.util.List;
  */
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 public class ItemDto {
     private int id;
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.item.search.ItemIndexListener;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -14,6 +15,7 @@ import ru.practicum.shareit.user.model.User;
 
 @Entity
 @Table(name = "items")
+@EntityListeners(ItemIndexListener.class)
 @Data
 @Builder
 @AllArgsConstructor
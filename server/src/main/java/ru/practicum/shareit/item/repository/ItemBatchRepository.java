@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts items with a single JDBC batch. Hibernate cannot batch inserts into identity columns,
+ * while a JDBC batch still returns the generated ids.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemBatchRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO items (name, description, available, owner_id, request_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the items and sets their generated ids.
+     */
+    public void insertAll(List<Item> items) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Item item = items.get(i);
+                        ps.setString(1, item.getName());
+                        ps.setString(2, item.getDescription());
+                        ps.setBoolean(3, item.getAvailable());
+                        ps.setInt(4, item.getOwner().getId());
+                        if (item.getRequest() == null) {
+                            ps.setNull(5, Types.INTEGER);
+                        } else {
+                            ps.setInt(5, item.getRequest().getId());
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return items.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setId(((Number) keys.get(i).values().iterator().next()).intValue());
+        }
+    }
+}
@@ -1,12 +1,73 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemNameView;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Integer> {
     List<Item> findByRequestId(int requestId);
+
+    List<Item> findAllByIdGreaterThanOrderById(int id, Limit limit);
+
+    List<ItemNameView> findAllByAvailableTrueAndIdGreaterThanOrderById(int id, Limit limit);
+
+    @Query("select i.id from Item i where i.owner.id = :ownerId order by i.id")
+    List<Integer> findIdsByOwnerId(@Param("ownerId") int ownerId);
+
+    /**
+     * Returns one row per comment of the item, or a single row with a null comment, each holding the item
+     * and the comment, so the item detail view is read in one round trip.
+     */
+    @Query("select i, c from Item i " +
+            "join fetch i.owner " +
+            "left join fetch i.request r " +
+            "left join fetch r.requester " +
+            "left join Comment c on c.item = i " +
+            "left join fetch c.author " +
+            "where i.id = :id " +
+            "order by c.id")
+    List<Object[]> findWithCommentsById(@Param("id") int id);
+
+    @Query("select i from Item i " +
+            "join fetch i.owner " +
+            "left join fetch i.request r " +
+            "left join fetch r.requester " +
+            "where i.owner.id = :ownerId and i.id > :afterId " +
+            "order by i.id")
+    List<Item> findAllByOwnerIdAfter(@Param("ownerId") int ownerId, @Param("afterId") int afterId, Limit limit);
+
+    @Query("select i from Item i " +
+            "left join fetch i.owner " +
+            "left join fetch i.request r " +
+            "left join fetch r.requester " +
+            "where i.available = true " +
+            "and (lower(i.name) like :pattern escape '\\' or lower(i.description) like :pattern escape '\\') " +
+            "order by case when lower(i.name) like :pattern escape '\\' then 0 else 1 end, i.id")
+    List<Item> findAvailableByText(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("select i from Item i " +
+            "left join fetch i.owner " +
+            "left join fetch i.request r " +
+            "left join fetch r.requester " +
+            "where i.available = true " +
+            "and (lower(i.name) like :pattern escape '\\' or lower(i.description) like :pattern escape '\\') " +
+            "and not exists (select b.id from Booking b where b.item = i and b.status in :statuses " +
+            "and b.start < :end and b.end > :start) " +
+            "order by case when lower(i.name) like :pattern escape '\\' then 0 else 1 end, i.id")
+    List<Item> findAvailableByTextAndFree(@Param("pattern") String pattern,
+                                          @Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end,
+                                          @Param("statuses") Collection<BookingStatus> statuses,
+                                          Pageable pageable);
 }
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.util.OffsetPageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Pushes the substring match down to the database. On PostgreSQL the {@code lower(...)} trigram
+ * indexes from schema-postgresql.sql serve the query, on other databases it is a plain scan.
+ * Ranking is coarse: name matches come before description-only matches.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.mode", havingValue = "database")
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemDto> find(String text, int from, int size) {
+        return itemRepository.findAvailableByText(toLikePattern(text), OffsetPageRequest.of(from, size)).stream()
+                .map(ItemMapper::toItemDto)
+                .toList();
+    }
+
+    @Override
+    public List<ItemDto> findFree(String text, int from, int size, LocalDateTime start, LocalDateTime end) {
+        return itemRepository.findAvailableByTextAndFree(toLikePattern(text), start, end,
+                        List.of(BookingStatus.WAITING, BookingStatus.APPROVED), OffsetPageRequest.of(from, size)).stream()
+                .map(ItemMapper::toItemDto)
+                .toList();
+    }
+
+    static String toLikePattern(String text) {
+        String escaped = text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
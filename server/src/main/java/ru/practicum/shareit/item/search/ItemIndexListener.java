@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Keeps the in-memory item indexes in sync with every write that goes through JPA.
+ * Inside a transaction the update is applied after commit, so a rollback leaves the indexes untouched.
+ */
+@RequiredArgsConstructor
+public class ItemIndexListener {
+    private final ObjectProvider<ItemSearchIndex> itemSearchIndex;
+    private final ObjectProvider<ItemSuggestIndex> itemSuggestIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Item item) {
+        afterCommit(() -> {
+            itemSearchIndex.ifAvailable(index -> index.put(item));
+            itemSuggestIndex.ifAvailable(index -> index.put(item.getId(), item.getName(), item.getAvailable()));
+        });
+    }
+
+    @PostRemove
+    public void onRemove(Item item) {
+        int itemId = item.getId();
+        afterCommit(() -> {
+            itemSearchIndex.ifAvailable(index -> index.remove(itemId));
+            itemSuggestIndex.ifAvailable(index -> index.remove(itemId));
+        });
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Backend for {@code /items/search}, selected with {@code shareit.item-search.mode}.
+ */
+public interface ItemSearchEngine {
+    /**
+     * Returns available items whose name or description contains the text, most relevant first.
+     */
+    List<ItemDto> find(String text, int from, int size);
+
+    /**
+     * Returns available items whose name is within {@code shareit.item-search.fuzzy.max-distance} edits of the text.
+     * Engines without typo tolerance fall back to the exact search.
+     */
+    default List<ItemDto> findFuzzy(String text, int from, int size) {
+        return find(text, from, size);
+    }
+
+    /**
+     * Same as {@link #find}, but only items without waiting or approved bookings intersecting {@code [start, end)}.
+     */
+    List<ItemDto> findFree(String text, int from, int size, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Same as {@link #findFuzzy}, but only items without waiting or approved bookings intersecting {@code [start, end)}.
+     */
+    default List<ItemDto> findFuzzyFree(String text, int from, int size, LocalDateTime start, LocalDateTime end) {
+        return findFree(text, from, size, start, end);
+    }
+}
@@ -0,0 +1,475 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory trigram index over item names and descriptions.
+ * Posting lists narrow the candidates, every candidate is then checked with a plain substring match,
+ * so the matched set is the same as filtering the whole table. Matches are ranked with BM25F.
+ * A second, much smaller index maps padded trigrams to distinct name tokens for typo-tolerant lookups.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.mode", havingValue = "memory", matchIfMissing = true)
+public class ItemSearchIndex implements ItemSearchEngine {
+    private static final int GRAM_LENGTH = 3;
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int BUSY_LOOKUP_BATCH_SIZE = 1000;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double NAME_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    private static final Comparator<ScoredItem> RANKING = Comparator.comparingDouble(ScoredItem::score).reversed()
+            .thenComparingInt(scored -> scored.item().id());
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+
+    private final Map<Integer, IndexedItem> items = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> postings = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> tokenItems = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> tokenGrams = new ConcurrentHashMap<>();
+    private volatile long totalNameLength;
+    private volatile long totalDescriptionLength;
+
+    @Value("${shareit.item-search.fuzzy.max-distance:2}")
+    private int fuzzyMaxDistance = 2;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int lastId = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findAllByIdGreaterThanOrderById(lastId, Limit.of(LOAD_BATCH_SIZE));
+            batch.forEach(this::put);
+            if (!batch.isEmpty()) {
+                lastId = batch.getLast().getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        log.info("Item search index is built, {} items, {} trigrams", items.size(), postings.size());
+    }
+
+    public synchronized void put(Item item) {
+        IndexedItem indexed = IndexedItem.of(item);
+        IndexedItem previous = items.put(indexed.id(), indexed);
+
+        Set<String> newGrams = indexed.grams();
+        Set<String> newTokens = new HashSet<>(indexed.nameTokens());
+        if (previous != null) {
+            for (String gram : previous.grams()) {
+                if (!newGrams.contains(gram)) {
+                    removePosting(gram, indexed.id());
+                }
+            }
+            for (String token : previous.nameTokens()) {
+                if (!newTokens.contains(token)) {
+                    removeToken(token, indexed.id());
+                }
+            }
+            updateLengths(previous, -1);
+        }
+        for (String gram : newGrams) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(indexed.id());
+        }
+        newTokens.forEach(token -> addToken(token, indexed.id()));
+        updateLengths(indexed, 1);
+    }
+
+    public synchronized void remove(int itemId) {
+        IndexedItem previous = items.remove(itemId);
+        if (previous != null) {
+            previous.grams().forEach(gram -> removePosting(gram, itemId));
+            new HashSet<>(previous.nameTokens()).forEach(token -> removeToken(token, itemId));
+            updateLengths(previous, -1);
+        }
+    }
+
+    @Override
+    public List<ItemDto> find(String text, int from, int size) {
+        return find(text, from, size, matches -> Set.of());
+    }
+
+    @Override
+    public List<ItemDto> findFuzzy(String text, int from, int size) {
+        return findFuzzy(text, from, size, matches -> Set.of());
+    }
+
+    /**
+     * Matches booked in the period are looked up by id once the text is matched and skipped while ranking,
+     * so paging is exact.
+     */
+    @Override
+    public List<ItemDto> findFree(String text, int from, int size, LocalDateTime start, LocalDateTime end) {
+        return find(text, from, size, matches -> busyItemIds(matches, start, end));
+    }
+
+    @Override
+    public List<ItemDto> findFuzzyFree(String text, int from, int size, LocalDateTime start, LocalDateTime end) {
+        return findFuzzy(text, from, size, matches -> busyItemIds(matches, start, end));
+    }
+
+    private Set<Integer> busyItemIds(List<Integer> itemIds, LocalDateTime start, LocalDateTime end) {
+        Set<Integer> busy = new HashSet<>();
+        for (int from = 0; from < itemIds.size(); from += BUSY_LOOKUP_BATCH_SIZE) {
+            busy.addAll(bookingRepository.findBusyItemIds(
+                    itemIds.subList(from, Math.min(from + BUSY_LOOKUP_BATCH_SIZE, itemIds.size())),
+                    start, end, List.of(BookingStatus.WAITING, BookingStatus.APPROVED)));
+        }
+        return busy;
+    }
+
+    private List<ItemDto> find(String text, int from, int size, Function<List<Integer>, Set<Integer>> excluded) {
+        String query = text.toLowerCase();
+        List<IndexedItem> matches = new ArrayList<>();
+        for (Integer id : candidates(query)) {
+            IndexedItem item = items.get(id);
+            if (item != null && item.available() && item.contains(query)) {
+                matches.add(item);
+            }
+        }
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> skipped = excluded.apply(matches.stream().map(IndexedItem::id).toList());
+
+        List<TermWeight> terms = weighTerms(query);
+        double avgNameLength = averageLength(totalNameLength);
+        double avgDescriptionLength = averageLength(totalDescriptionLength);
+        TopItems top = new TopItems(from, size);
+        for (IndexedItem item : matches) {
+            if (!skipped.contains(item.id())) {
+                top.offer(item, score(item, terms, avgNameLength, avgDescriptionLength));
+            }
+        }
+        return top.page();
+    }
+
+    /**
+     * Every query token has to be within the edit distance of some name token. Items are ranked by the total
+     * distance, so exact matches come first.
+     */
+    private List<ItemDto> findFuzzy(String text, int from, int size,
+                                    Function<List<Integer>, Set<Integer>> excluded) {
+        List<String> queryTokens = tokens(text.toLowerCase()).stream().distinct().toList();
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Integer> distances = null;
+        for (String queryToken : queryTokens) {
+            Map<Integer, Integer> matches = new HashMap<>();
+            similarTokens(queryToken).forEach((token, distance) -> tokenItems.getOrDefault(token, Set.of())
+                    .forEach(id -> matches.merge(id, distance, Math::min)));
+
+            if (distances == null) {
+                distances = matches;
+            } else {
+                distances.keySet().retainAll(matches.keySet());
+                distances.replaceAll((id, distance) -> distance + matches.get(id));
+            }
+            if (distances.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Integer> matches = distances.keySet().stream()
+                .filter(id -> {
+                    IndexedItem item = items.get(id);
+                    return item != null && item.available();
+                })
+                .toList();
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> skipped = excluded.apply(matches);
+
+        TopItems top = new TopItems(from, size);
+        for (Integer id : matches) {
+            IndexedItem item = items.get(id);
+            if (item != null && !skipped.contains(id)) {
+                top.offer(item, -distances.get(id));
+            }
+        }
+        return top.page();
+    }
+
+    /**
+     * Candidate tokens must share enough padded trigrams with the query token (each edit destroys at most
+     * three of them), only those are checked with a bounded Levenshtein distance.
+     */
+    private Map<String, Integer> similarTokens(String queryToken) {
+        int maxDistance = Math.min(fuzzyMaxDistance, queryToken.length() / 2);
+        Set<String> queryGrams = paddedGrams(queryToken);
+        int minShared = Math.max(1, queryGrams.size() - GRAM_LENGTH * maxDistance);
+
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : queryGrams) {
+            tokenGrams.getOrDefault(gram, Set.of()).forEach(token -> shared.merge(token, 1, Integer::sum));
+        }
+
+        Map<String, Integer> similar = new HashMap<>();
+        shared.forEach((token, count) -> {
+            if (count >= minShared) {
+                int distance = Levenshtein.distance(queryToken, token, maxDistance);
+                if (distance <= maxDistance) {
+                    similar.put(token, distance);
+                }
+            }
+        });
+        return similar;
+    }
+
+    private Collection<Integer> candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return items.keySet();
+        }
+
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Integer> posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Integer> smallest = lists.getFirst();
+        List<Set<Integer>> others = lists.subList(1, lists.size());
+        return smallest.stream()
+                .filter(id -> others.stream().allMatch(posting -> posting.contains(id)))
+                .toList();
+    }
+
+    /**
+     * Every match contains the whole query, so only the query terms are scored. Document frequency of a term
+     * is estimated by the posting list of its rarest trigram, terms shorter than a trigram get the lowest idf.
+     */
+    private List<TermWeight> weighTerms(String query) {
+        List<String> terms = tokens(query);
+        if (terms.isEmpty()) {
+            terms = List.of(query);
+        }
+
+        int total = Math.max(items.size(), 1);
+        return terms.stream()
+                .distinct()
+                .map(term -> {
+                    int df = grams(term).stream()
+                            .mapToInt(gram -> postings.getOrDefault(gram, Set.of()).size())
+                            .min()
+                            .orElse(total);
+                    double idf = Math.log(1 + (total - df + 0.5) / (df + 0.5));
+                    return new TermWeight(term, idf);
+                })
+                .toList();
+    }
+
+    private double score(IndexedItem item, List<TermWeight> terms, double avgNameLength, double avgDescriptionLength) {
+        double nameNorm = 1 - B + B * item.nameLength() / avgNameLength;
+        double descriptionNorm = 1 - B + B * item.descriptionLength() / avgDescriptionLength;
+
+        double score = 0;
+        for (TermWeight term : terms) {
+            double tf = NAME_WEIGHT * occurrences(item.lowerName(), term.term()) / nameNorm
+                    + DESCRIPTION_WEIGHT * occurrences(item.lowerDescription(), term.term()) / descriptionNorm;
+            score += term.idf() * tf * (K1 + 1) / (tf + K1);
+        }
+        return score;
+    }
+
+    private double averageLength(long totalLength) {
+        return Math.max((double) totalLength / Math.max(items.size(), 1), 1);
+    }
+
+    private void updateLengths(IndexedItem item, int sign) {
+        totalNameLength += sign * item.nameLength();
+        totalDescriptionLength += sign * item.descriptionLength();
+    }
+
+    private void addToken(String token, int itemId) {
+        Set<Integer> tokenPosting = tokenItems.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet());
+        if (tokenPosting.isEmpty()) {
+            paddedGrams(token).forEach(gram -> tokenGrams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet())
+                    .add(token));
+        }
+        tokenPosting.add(itemId);
+    }
+
+    private void removeToken(String token, int itemId) {
+        Set<Integer> tokenPosting = tokenItems.get(token);
+        if (tokenPosting == null) {
+            return;
+        }
+        tokenPosting.remove(itemId);
+        if (tokenPosting.isEmpty()) {
+            tokenItems.remove(token);
+            for (String gram : paddedGrams(token)) {
+                Set<String> gramTokens = tokenGrams.get(gram);
+                if (gramTokens != null) {
+                    gramTokens.remove(token);
+                    if (gramTokens.isEmpty()) {
+                        tokenGrams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private void removePosting(String gram, int itemId) {
+        Set<Integer> posting = postings.get(gram);
+        if (posting != null) {
+            posting.remove(itemId);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static Set<String> paddedGrams(String token) {
+        return grams("$" + token + "$");
+    }
+
+    static List<String> tokens(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static int occurrences(String text, String term) {
+        if (text == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = text.indexOf(term); i >= 0; i = text.indexOf(term, i + term.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private record TermWeight(String term, double idf) {
+    }
+
+    private record ScoredItem(IndexedItem item, double score) {
+    }
+
+    /**
+     * Bounded min-heap keeping the best {@code from + size} items, so only the requested page gets sorted.
+     */
+    private static class TopItems {
+        private final int from;
+        private final int limit;
+        private final PriorityQueue<ScoredItem> heap;
+
+        TopItems(int from, int size) {
+            this.from = from;
+            this.limit = (int) Math.min((long) from + size, Integer.MAX_VALUE - 1);
+            this.heap = new PriorityQueue<>(Math.min(limit, 1024) + 1, RANKING.reversed());
+        }
+
+        void offer(IndexedItem item, double score) {
+            heap.offer(new ScoredItem(item, score));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<ItemDto> page() {
+            return heap.stream()
+                    .sorted(RANKING)
+                    .skip(from)
+                    .map(scored -> scored.item().toItemDto())
+                    .toList();
+        }
+    }
+
+    private record IndexedItem(int id, String name, String description, String lowerName, String lowerDescription,
+                               List<String> nameTokens, int descriptionLength, boolean available, Integer requestId) {
+        static IndexedItem of(Item item) {
+            String lowerName = item.getName() == null ? null : item.getName().toLowerCase();
+            String lowerDescription = item.getDescription() == null ? null : item.getDescription().toLowerCase();
+            return new IndexedItem(item.getId(),
+                    item.getName(),
+                    item.getDescription(),
+                    lowerName,
+                    lowerDescription,
+                    tokens(lowerName),
+                    tokens(lowerDescription).size(),
+                    Boolean.TRUE.equals(item.getAvailable()),
+                    item.getRequest() == null ? null : item.getRequest().getId());
+        }
+
+        int nameLength() {
+            return nameTokens.size();
+        }
+
+        boolean contains(String query) {
+            return lowerName != null && lowerName.contains(query)
+                    || lowerDescription != null && lowerDescription.contains(query);
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            if (lowerName != null) {
+                grams.addAll(ItemSearchIndex.grams(lowerName));
+            }
+            if (lowerDescription != null) {
+                grams.addAll(ItemSearchIndex.grams(lowerDescription));
+            }
+            return grams;
+        }
+
+        ItemDto toItemDto() {
+            return ItemDto.builder()
+                    .id(id)
+                    .name(name)
+                    .description(description)
+                    .available(available)
+                    .requestId(requestId)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemNameView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie over the names of available items, used for autocomplete.
+ * Children are kept in sorted arrays instead of maps, which keeps nodes small and
+ * makes a depth-first walk return completions in alphabetical order.
+ * Names that differ only in case share a node, which counts every spelling and suggests the most common one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSuggestIndex {
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final Node root = new Node();
+    private final Map<Integer, String> indexedNames = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int lastId = 0;
+        List<ItemNameView> batch;
+        do {
+            batch = itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderById(lastId, Limit.of(LOAD_BATCH_SIZE));
+            batch.forEach(item -> put(item.getId(), item.getName(), true));
+            if (!batch.isEmpty()) {
+                lastId = batch.getLast().getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        log.info("Item suggest index is built, {} names", indexedNames.size());
+    }
+
+    public void put(int itemId, String name, Boolean available) {
+        String newName = Boolean.TRUE.equals(available) && name != null && !name.isBlank() ? name : null;
+
+        lock.writeLock().lock();
+        try {
+            String previous = newName == null ? indexedNames.remove(itemId) : indexedNames.put(itemId, newName);
+            if (previous != null) {
+                delete(root, previous.toLowerCase(), previous, 0);
+            }
+            if (newName != null) {
+                insert(newName);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int itemId) {
+        put(itemId, null, false);
+    }
+
+    public List<String> suggest(String prefix, int size) {
+        String key = prefix.toLowerCase();
+        List<String> completions = new ArrayList<>(Math.min(size, 64));
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node != null) {
+                collect(node, completions, size);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return completions;
+    }
+
+    private void insert(String name) {
+        String key = name.toLowerCase();
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrAddChild(key.charAt(i));
+        }
+        node.addSpelling(name);
+    }
+
+    /**
+     * Decrements the counter of the spelling and prunes nodes that no longer lead to any name.
+     */
+    private boolean delete(Node node, String key, String name, int depth) {
+        if (depth == key.length()) {
+            node.removeSpelling(name);
+        } else {
+            char c = key.charAt(depth);
+            Node child = node.child(c);
+            if (child != null && delete(child, key, name, depth + 1)) {
+                node.removeChild(c);
+            }
+        }
+        return node.spellings == null && node.keys.length == 0;
+    }
+
+    private void collect(Node node, List<String> completions, int size) {
+        if (completions.size() >= size) {
+            return;
+        }
+        if (node.spellings != null) {
+            completions.add(node.completion());
+        }
+        for (Node child : node.children) {
+            collect(child, completions, size);
+            if (completions.size() >= size) {
+                return;
+            }
+        }
+    }
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private Map<String, Integer> spellings;
+
+        void addSpelling(String name) {
+            if (spellings == null) {
+                spellings = new TreeMap<>();
+            }
+            spellings.merge(name, 1, Integer::sum);
+        }
+
+        void removeSpelling(String name) {
+            if (spellings != null) {
+                spellings.computeIfPresent(name, (spelling, count) -> count > 1 ? count - 1 : null);
+                if (spellings.isEmpty()) {
+                    spellings = null;
+                }
+            }
+        }
+
+        /**
+         * The spelling shared by most items, ties go to the first one in natural order.
+         */
+        String completion() {
+            String completion = null;
+            int best = 0;
+            for (Map.Entry<String, Integer> spelling : spellings.entrySet()) {
+                if (spelling.getValue() > best) {
+                    completion = spelling.getKey();
+                    best = spelling.getValue();
+                }
+            }
+            return completion;
+        }
+
+        Node child(char c) {
+            int position = Arrays.binarySearch(keys, c);
+            return position >= 0 ? children[position] : null;
+        }
+
+        Node getOrAddChild(char c) {
+            int position = Arrays.binarySearch(keys, c);
+            if (position >= 0) {
+                return children[position];
+            }
+
+            int insertAt = -position - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+
+            Node child = new Node();
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char c) {
+            int position = Arrays.binarySearch(keys, c);
+            if (position < 0) {
+                return;
+            }
+
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            System.arraycopy(keys, position + 1, newKeys, position, keys.length - position - 1);
+            System.arraycopy(children, position + 1, newChildren, position, children.length - position - 1);
+            keys = newKeys.length == 0 ? NO_KEYS : newKeys;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingArchiveRepository;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Answers whether a user has a finished approved booking of an item, which is required to comment on it.
+ * The check is an indexed EXISTS on the active table and then on the archive. A positive answer never changes,
+ * because approved bookings are final, so (booker, item) pairs that passed are remembered in a bounded cache.
+ */
+@Component
+public class CommentEligibility {
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final Cache<Long, Boolean> eligiblePairs;
+
+    public CommentEligibility(BookingRepository bookingRepository,
+                              BookingArchiveRepository bookingArchiveRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${shareit.comment-eligibility.maximum-size:100000}") long maximumSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingArchiveRepository = bookingArchiveRepository;
+        this.eligiblePairs = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, eligiblePairs, "commentEligibility");
+    }
+
+    public boolean canComment(int bookerId, int itemId, LocalDateTime now) {
+        long pair = ((long) bookerId << 32) | (itemId & 0xFFFFFFFFL);
+        if (eligiblePairs.getIfPresent(pair) != null) {
+            return true;
+        }
+        boolean eligible = bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(bookerId, itemId,
+                BookingStatus.APPROVED, now)
+                || bookingArchiveRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(bookerId, itemId,
+                BookingStatus.APPROVED, now);
+        if (eligible) {
+            eligiblePairs.put(pair, Boolean.TRUE);
+        }
+        return eligible;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.service;
+
+/**
+ * Published after anything shown on the item page changes: the item itself, its comments or its bookings.
+ */
+public record ItemChangedEvent(int itemId) {
+}
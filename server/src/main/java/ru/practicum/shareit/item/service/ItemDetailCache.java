@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.service.UserChangedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded cache of item pages. The owner's view (with last and next bookings) and the view shown to
+ * everyone else are cached separately. Entries are dropped on {@link ItemChangedEvent}, after the TTL,
+ * and owner views also when their next booking starts and becomes the last one. A user change drops every
+ * entry, since user names show up in comments and bookings of any item.
+ * Every caller gets its own copy of the view, so a caller changing it does not change the cached one.
+ */
+@Component
+public class ItemDetailCache {
+    private final Cache<Key, Entry> cache;
+    private final Duration ttl;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ItemDetailCache(@Value("${shareit.item-cache.maximum-size:10000}") long maximumSize,
+                           @Value("${shareit.item-cache.ttl:10m}") Duration ttl,
+                           MeterRegistry meterRegistry) {
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new EntryExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "itemDetails");
+    }
+
+    /**
+     * Returns the cached view of the item for the user or loads it. A loaded view is not stored if the
+     * cache was invalidated while it was being loaded, so a concurrent change is never hidden.
+     */
+    public ItemDto get(int itemId, int userId, Supplier<ItemDetails> loader) {
+        Integer ownerId = knownOwnerOf(itemId);
+        Key key = new Key(itemId, ownerId != null && ownerId == userId);
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return copy(cached.item());
+        }
+
+        long seen = invalidations.get();
+        ItemDetails loaded = loader.get();
+        Key loadedKey = new Key(itemId, loaded.ownerId() == userId);
+        Entry entry = new Entry(loaded.ownerId(), copy(loaded.item()), lifetime(loadedKey, loaded.item()));
+        cache.asMap().compute(loadedKey, (k, current) -> invalidations.get() == seen ? entry : current);
+        return loaded.item();
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll(List.of(new Key(event.itemId(), true), new Key(event.itemId(), false)));
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private Integer knownOwnerOf(int itemId) {
+        Entry entry = cache.asMap().get(new Key(itemId, true));
+        if (entry == null) {
+            entry = cache.asMap().get(new Key(itemId, false));
+        }
+        return entry == null ? null : entry.ownerId();
+    }
+
+    private long lifetime(Key key, ItemDto item) {
+        long lifetime = ttl.toNanos();
+        BookingDto nextBooking = item.getNextBooking();
+        if (key.ownerView() && nextBooking != null) {
+            long untilNext = Duration.between(LocalDateTime.now(), nextBooking.getStart()).toNanos();
+            lifetime = Math.max(0, Math.min(lifetime, untilNext));
+        }
+        return lifetime;
+    }
+
+    private static ItemDto copy(ItemDto item) {
+        return item.toBuilder()
+                .comments(item.getComments() == null ? null : item.getComments().stream()
+                        .map(comment -> comment.toBuilder().build())
+                        .toList())
+                .lastBooking(copy(item.getLastBooking()))
+                .nextBooking(copy(item.getNextBooking()))
+                .build();
+    }
+
+    private static BookingDto copy(BookingDto booking) {
+        return booking == null ? null : booking.toBuilder().build();
+    }
+
+    public record ItemDetails(int ownerId, ItemDto item) {
+    }
+
+    private record Key(int itemId, boolean ownerView) {
+    }
+
+    private record Entry(int ownerId, ItemDto item, long lifetimeNanos) {
+    }
+
+    private static final class EntryExpiry implements Expiry<Key, Entry> {
+        @Override
+        public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+            return entry.lifetimeNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+            return entry.lifetimeNanos();
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemBatchChunkDto;
+import ru.practicum.shareit.item.dto.ItemBatchFailureDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemBatchRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes imported items in chunks, each chunk in its own transaction. A failed chunk stops the import, chunks
+ * committed before it are kept and reported along with the failure. JDBC writes bypass
+ * {@code ItemIndexListener}, so the in-memory indexes are updated here once a chunk is committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemImporter {
+    private final ItemBatchRepository itemBatchRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectProvider<ItemSearchIndex> itemSearchIndex;
+    private final ItemSuggestIndex itemSuggestIndex;
+
+    @Value("${shareit.item-import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    /**
+     * Returns the reports of committed chunks, which hold the first {@code imported} items, and the failure
+     * of the chunk that stopped the import, if any.
+     */
+    public Report importAll(List<Item> items) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<ItemBatchChunkDto> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<Item> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+
+            long start = System.nanoTime();
+            try {
+                transaction.executeWithoutResult(status -> itemBatchRepository.insertAll(chunk));
+            } catch (DataAccessException e) {
+                ItemBatchFailureDto failure = ItemBatchFailureDto.builder()
+                        .chunk(chunks.size() + 1)
+                        .error(e.getMostSpecificCause().getMessage())
+                        .build();
+                log.warn("Import stopped at chunk {}, {} items were imported before it", failure.getChunk(), from, e);
+                return new Report(chunks, from, failure);
+            }
+            long nanos = Math.max(System.nanoTime() - start, 1);
+
+            chunk.forEach(item -> {
+                itemSearchIndex.ifAvailable(index -> index.put(item));
+                itemSuggestIndex.put(item.getId(), item.getName(), item.getAvailable());
+            });
+
+            ItemBatchChunkDto report = ItemBatchChunkDto.builder()
+                    .chunk(chunks.size() + 1)
+                    .size(chunk.size())
+                    .millis(nanos / 1_000_000)
+                    .itemsPerSecond(chunk.size() * 1_000_000_000L / nanos)
+                    .build();
+            log.info("Imported chunk {}: {} items in {} ms, {} items/s",
+                    report.getChunk(), report.getSize(), report.getMillis(), report.getItemsPerSecond());
+            chunks.add(report);
+        }
+        return new Report(chunks, items.size(), null);
+    }
+
+    public record Report(List<ItemBatchChunkDto> chunks, int imported, ItemBatchFailureDto failure) {
+    }
+}
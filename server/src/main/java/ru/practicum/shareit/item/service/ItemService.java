@@ -1,21 +1,36 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoExport;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     ItemDto add(ItemDto itemDto, int ownerId);
 
+    ItemBatchResultDto addBatch(List<ItemDto> itemDtos, int ownerId);
+
     ItemDto update(int itemId, int ownerId, ItemDto newItemDto);
 
     ItemDto getById(int itemId, int userId);
 
-    List<ItemDto> getAll(int ownerId);
+    List<ItemDto> getAll(int ownerId, int afterId, int size);
+
+    List<AvailabilityWindowDto> getAvailability(int itemId, LocalDateTime from, LocalDateTime to);
+
+    List<ItemDto> find(String text, int from, int size);
+
+    List<ItemDto> findFuzzy(String text, int from, int size);
+
+    List<ItemDto> findFree(String text, int from, int size, LocalDateTime start, LocalDateTime end);
+
+    List<ItemDto> findFuzzyFree(String text, int from, int size, LocalDateTime start, LocalDateTime end);
 
-    List<ItemDto> find(String text);
+    List<String> suggest(String prefix, int size);
 
     void validateById(int id);
 
@@ -1,23 +1,31 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.BookingMapper;
-import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
+import ru.practicum.shareit.booking.timeline.ItemTimeline;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.AccessException;
 import ru.practicum.shareit.exceptions.UnavailableToAddCommentException;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoExport;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.UserMapper;
@@ -25,10 +33,14 @@ import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
-import java.util.Optional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -38,8 +50,15 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final ItemRequestRepository itemRequestRepository;
-    private final BookingRepository bookingRepository;
+    private final CommentEligibility commentEligibility;
     private final CommentRepository commentRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSuggestIndex itemSuggestIndex;
+    private final ItemDetailCache itemDetailCache;
+    private final BookingTimeline bookingTimeline;
+    private final ItemImporter itemImporter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
 
     @Override
     public ItemDto add(ItemDto itemDto, int ownerId) {
@@ -57,6 +76,42 @@ public class ItemServiceImpl implements ItemService {
         return itemMapper.toItemDto(itemRepository.save(item));
     }
 
+    @Override
+    public ItemBatchResultDto addBatch(List<ItemDto> itemDtos, int ownerId) {
+        userService.validateById(ownerId);
+        User owner = UserMapper.toUser(userService.getById(ownerId));
+
+        Set<Integer> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        requestIds.stream()
+                .filter(requestId -> !requests.containsKey(requestId))
+                .findFirst()
+                .ifPresent(requestId -> {
+                    throw new NotFoundException(String.format("ItemRequest with id %d is not found", requestId));
+                });
+
+        List<Item> items = itemDtos.stream()
+                .map(itemDto -> {
+                    Item item = itemMapper.toItem(itemDto);
+                    item.setOwner(owner);
+                    item.setRequest(itemDto.getRequestId() == null ? null : requests.get(itemDto.getRequestId()));
+                    return item;
+                })
+                .toList();
+
+        ItemImporter.Report report = itemImporter.importAll(items);
+        return ItemBatchResultDto.builder()
+                .created(report.imported())
+                .items(items.subList(0, report.imported()).stream().map(item -> itemMapper.toItemDto(item)).toList())
+                .chunks(report.chunks())
+                .failure(report.failure())
+                .build();
+    }
+
     @Override
     public ItemDto update(int itemId, int ownerId, ItemDto newItemDto) {
         validateById(itemId);
@@ -77,57 +132,138 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item item = itemRepository.save(oldItem);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
         return itemMapper.toItemDto(item);
     }
 
     @Override
     public ItemDto getById(int itemId, int userId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException(String.format("Can not find item with id %d.", itemId)));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return itemDetailCache.get(itemId, userId, () -> readOnly.execute(status -> loadDetails(itemId, userId)));
+    }
+
+    /**
+     * Loads the item with its owner, request and comments in one query; the owner's last and next bookings
+     * come from the booking timeline, which costs one more query only when the item's timeline is not cached.
+     * Runs in one read-only transaction, so eager references back to the item are resolved from the
+     * persistence context instead of extra selects.
+     */
+    private ItemDetailCache.ItemDetails loadDetails(int itemId, int userId) {
+        List<Object[]> rows = itemRepository.findWithCommentsById(itemId);
+        if (rows.isEmpty()) {
+            throw new NotFoundException(String.format("Can not find item with id %d.", itemId));
+        }
 
-        List<CommentDtoExport> comments = commentRepository.findAllByItemId(item.getId())
-                .stream()
+        Item item = (Item) rows.getFirst()[0];
+        List<CommentDtoExport> comments = rows.stream()
+                .map(row -> (Comment) row[1])
+                .filter(Objects::nonNull)
                 .map(CommentMapper::toCommentDtoExport)
                 .toList();
 
-
-        ItemDto itemDto = itemMapper.toItemDto(itemRepository.findById(itemId).get());
+        ItemDto itemDto = itemMapper.toItemDto(item);
         itemDto.setComments(comments);
 
         if (item.getOwner().getId() == userId) {
-            Optional<Booking> lastBooking = bookingRepository.findFirstByItemIdAndStartBeforeAndStatusNotOrderByStartDesc(itemId, LocalDateTime.now(), BookingStatus.REJECTED);
-            if (!lastBooking.isEmpty()) {
-                itemDto.setLastBooking(BookingMapper.toBookingDto(lastBooking.get()));
-            }
-            Optional<Booking> nextBooking = bookingRepository.findFirstByItemIdAndStartAfterAndStatusNotOrderByStart(itemId, LocalDateTime.now(), BookingStatus.REJECTED);
-            if (!nextBooking.isEmpty()) {
-                itemDto.setNextBooking(BookingMapper.toBookingDto(nextBooking.get()));
-            }
+            setLastAndNextBookings(itemDto, item, bookingTimeline.get(itemId).summary(LocalDateTime.now()));
         }
 
-        return itemDto;
+        return new ItemDetailCache.ItemDetails(item.getOwner().getId(), itemDto);
     }
 
+    /**
+     * Returns owner's items with id greater than {@code afterId}, with comments and last/next bookings
+     * fetched for the whole page at once.
+     */
     @Override
-    public List<ItemDto> getAll(int ownerId) {
-        return itemRepository.findAll().stream()
-                .filter(item -> item.getOwner().getId() == ownerId)
-                .map(item -> itemMapper.toItemDto(item))
+    @Transactional(readOnly = true)
+    public List<ItemDto> getAll(int ownerId, int afterId, int size) {
+        List<Item> items = itemRepository.findAllByOwnerIdAfter(ownerId, afterId, Limit.of(size));
+        if (items.isEmpty()) return new ArrayList<>();
+
+        List<Integer> itemIds = items.stream().map(Item::getId).toList();
+
+        Map<Integer, List<CommentDtoExport>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDtoExport, Collectors.toList())));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, ItemTimeline> timelines = bookingTimeline.getAll(itemIds);
+
+        return items.stream()
+                .map(item -> {
+                    ItemDto itemDto = itemMapper.toItemDto(item);
+                    itemDto.setComments(comments.getOrDefault(item.getId(), List.of()));
+                    setLastAndNextBookings(itemDto, item, timelines.get(item.getId()).summary(now));
+                    return itemDto;
+                })
                 .toList();
     }
 
+    /**
+     * Returns free windows of an available item within {@code [from, to)}. The calendar never starts
+     * in the past, since the timeline only keeps bookings that still matter.
+     */
     @Override
-    public List<ItemDto> find(String text) {
-        if (text.equals("")) return new ArrayList<>();
+    public List<AvailabilityWindowDto> getAvailability(int itemId, LocalDateTime from, LocalDateTime to) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException(String.format("Can not find item with id %d.", itemId)));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from.isBefore(now) ? now : from;
+        if (!item.getAvailable() || !start.isBefore(to)) {
+            return new ArrayList<>();
+        }
 
-        return itemRepository.findAll().stream()
-                .filter(item -> item.getName() != null && item.getName().toLowerCase().contains(text.toLowerCase()) ||
-                        item.getDescription() != null && item.getDescription().toLowerCase().contains(text.toLowerCase()))
-                .filter(Item::getAvailable)
-                .map(item -> itemMapper.toItemDto(item))
+        return bookingTimeline.get(itemId).freeWindows(start, to).stream()
+                .map(window -> new AvailabilityWindowDto(window.start(), window.end()))
                 .toList();
     }
 
+    private void setLastAndNextBookings(ItemDto itemDto, Item item, ItemTimeline.Summary summary) {
+        if (summary.last() != null) {
+            itemDto.setLastBooking(BookingMapper.toBookingDto(summary.last(), item));
+        }
+        if (summary.next() != null) {
+            itemDto.setNextBooking(BookingMapper.toBookingDto(summary.next(), item));
+        }
+    }
+
+    @Override
+    public List<ItemDto> find(String text, int from, int size) {
+        if (text.equals("")) return new ArrayList<>();
+
+        return itemSearchEngine.find(text, from, size);
+    }
+
+    @Override
+    public List<ItemDto> findFuzzy(String text, int from, int size) {
+        if (text.isBlank()) return new ArrayList<>();
+
+        return itemSearchEngine.findFuzzy(text, from, size);
+    }
+
+    @Override
+    public List<ItemDto> findFree(String text, int from, int size, LocalDateTime start, LocalDateTime end) {
+        if (text.equals("")) return new ArrayList<>();
+
+        return itemSearchEngine.findFree(text, from, size, start, end);
+    }
+
+    @Override
+    public List<ItemDto> findFuzzyFree(String text, int from, int size, LocalDateTime start, LocalDateTime end) {
+        if (text.isBlank()) return new ArrayList<>();
+
+        return itemSearchEngine.findFuzzyFree(text, from, size, start, end);
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int size) {
+        if (prefix.isBlank()) return new ArrayList<>();
+
+        return itemSuggestIndex.suggest(prefix, size);
+    }
+
     @Override
     public CommentDtoExport addComment(int itemId, int userId, CommentDto comment) {
         User author =  userRepository.findById(userId)
@@ -136,13 +272,7 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException(String.format("Can not find item with id %d.", itemId)));
 
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndItemId(userId, itemId);
-
-        boolean isAbleToAddComment = bookings.stream()
-                .anyMatch(booking -> booking.getEnd().isBefore(LocalDateTime.now())
-                        && booking.getStatus().equals(BookingStatus.APPROVED));
-
-        if (!isAbleToAddComment) {
+        if (!commentEligibility.canComment(userId, itemId, LocalDateTime.now())) {
             throw new UnavailableToAddCommentException("Can not add comment, because booking is not ended or wasnt approved.");
         }
 
@@ -151,6 +281,7 @@ public class ItemServiceImpl implements ItemService {
         comment.setAuthor(author);
 
         Comment savedComment = commentRepository.save(CommentMapper.toComment(comment));
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
         return CommentMapper.toCommentDtoExport(savedComment);
     }
 
@@ -6,5 +6,5 @@ import ru.practicum.shareit.user.model.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
-
+    boolean existsByEmail(String email);
 }
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded near cache of user profiles by id. It answers the existence check that starts most requests
+ * and the profile lookup that often follows it without a database round trip. Entries are dropped on update
+ * and delete, and after the TTL so that changes made by another server instance are picked up.
+ * Hit rate is reported as {@code shareit.user.cache.hit-ratio} next to the usual {@code cache.*} meters.
+ */
+@Component
+public class UserCache {
+    private final Cache<Integer, Profile> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserCache(@Value("${shareit.user-cache.maximum-size:100000}") long maximumSize,
+                     @Value("${shareit.user-cache.ttl:10m}") Duration ttl,
+                     MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+        Gauge.builder("shareit.user.cache.hit-ratio", cache, c -> c.stats().hitRate())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached profile or loads it. {@code loader} returns null for a missing user, which is not cached.
+     * A loaded profile is not stored if a user was invalidated while it was being loaded.
+     */
+    public UserDto get(int id, Supplier<UserDto> loader) {
+        Profile cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached.toDto(id);
+        }
+
+        long seen = invalidations.get();
+        UserDto loaded = loader.get();
+        if (loaded != null) {
+            Profile profile = new Profile(loaded.getName(), loaded.getEmail());
+            cache.asMap().compute(id, (key, current) -> invalidations.get() == seen ? profile : current);
+        }
+        return loaded;
+    }
+
+    public void invalidate(int id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    public double hitRate() {
+        return cache.stats().hitRate();
+    }
+
+    private record Profile(String name, String email) {
+        UserDto toDto(int id) {
+            return new UserDto(id, name, email);
+        }
+    }
+}
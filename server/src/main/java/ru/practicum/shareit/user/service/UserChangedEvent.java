@@ -0,0 +1,7 @@
+package ru.practicum.shareit.user.service;
+
+/**
+ * Published after a user's name or email changes.
+ */
+public record UserChangedEvent(int userId) {
+}
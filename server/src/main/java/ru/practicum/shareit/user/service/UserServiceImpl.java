@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exceptions.EmailIsNotUniqueException;
 import ru.practicum.shareit.exceptions.NotFoundException;
@@ -14,19 +16,23 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    private static final String EMAIL_CONSTRAINT = "UQ_USER_EMAIL";
+
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserDto add(UserDto userDto) {
         validateUserDtoEmail(userDto);
-        User user = userRepository.save(UserMapper.toUser(userDto));
+        User user = saveUnique(UserMapper.toUser(userDto));
         return UserMapper.toUserDto(user);
     }
 
     @Override
     public UserDto update(int id, UserDto newUserDto) {
-        validateById(id);
-        User oldUser = userRepository.findById(id).get();
+        User oldUser = userRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException(String.format("User with id %d is not found.", id)));
 
         String newEmail = newUserDto.getEmail();
         if (newEmail != null && !newEmail.equals(oldUser.getEmail())) {
@@ -39,7 +45,9 @@ public class UserServiceImpl implements UserService {
             oldUser.setName(newName);
         }
 
-        User user = userRepository.save(oldUser);
+        User user = saveUnique(oldUser);
+        userCache.invalidate(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
         return UserMapper.toUserDto(user);
     }
 
@@ -47,6 +55,7 @@ public class UserServiceImpl implements UserService {
     public void deleteById(int id) {
         validateById(id);
         userRepository.deleteById(id);
+        userCache.invalidate(id);
     }
 
     @Override
@@ -56,19 +65,38 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto getById(int id) {
-        validateById(id);
-        return UserMapper.toUserDto(userRepository.findById(id).get());
+        UserDto user = userCache.get(id, () -> userRepository.findById(id).map(UserMapper::toUserDto).orElse(null));
+        if (user == null) {
+            throw new NotFoundException(String.format("User with id %d is not found.", id));
+        }
+        return user;
     }
 
     private void validateUserDtoEmail(UserDto userDto) {
-        if (userRepository.findAll().stream().anyMatch(user -> user.getEmail().equals(userDto.getEmail()))) {
-            throw new EmailIsNotUniqueException(String.format("Failed to add user with email %s, email is not unique.", userDto.getEmail()));
+        if (userRepository.existsByEmail(userDto.getEmail())) {
+            throw emailIsNotUnique(userDto.getEmail());
         }
     }
 
-    public void validateById(int id) {
-        if (!userRepository.existsById(id)) {
-            throw new NotFoundException(String.format("User with id %d is not found.", id));
+    /**
+     * The unique constraint on email catches signups with the same email that passed the check concurrently.
+     */
+    private User saveUnique(User user) {
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (String.valueOf(e.getMostSpecificCause().getMessage()).toUpperCase().contains(EMAIL_CONSTRAINT)) {
+                throw emailIsNotUnique(user.getEmail());
+            }
+            throw e;
         }
     }
+
+    private EmailIsNotUniqueException emailIsNotUnique(String email) {
+        return new EmailIsNotUniqueException(String.format("Failed to add user with email %s, email is not unique.", email));
+    }
+
+    public void validateById(int id) {
+        getById(id);
+    }
 }
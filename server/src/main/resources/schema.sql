@@ -2,6 +2,7 @@ DROP TABLE IF EXISTS users cascade;
 DROP TABLE IF EXISTS item_requests cascade;
 DROP TABLE IF EXISTS items cascade;
 DROP TABLE IF EXISTS bookings cascade;
+DROP TABLE IF EXISTS bookings_archive cascade;
 DROP TABLE IF EXISTS comments cascade;
 
 CREATE TABLE IF NOT EXISTS users (
@@ -45,6 +46,18 @@ CREATE TABLE IF NOT EXISTS bookings (
     CONSTRAINT fk_booker_bookings FOREIGN KEY (booker_id) REFERENCES users(id)
 );
 
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    id INTEGER NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id INTEGER NOT NULL,
+    booker_id INTEGER NOT NULL,
+    status VARCHAR(10) NOT NULL,
+    CONSTRAINT pk_bookings_archive PRIMARY KEY (id),
+    CONSTRAINT fk_item_bookings_archive FOREIGN KEY (item_id) REFERENCES items(id),
+    CONSTRAINT fk_booker_bookings_archive FOREIGN KEY (booker_id) REFERENCES users(id)
+);
+
 CREATE TABLE IF NOT EXISTS comments (
     id INTEGER GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     text VARCHAR(250) NOT NULL,
@@ -54,4 +67,14 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT pk_comments PRIMARY KEY (id),
     CONSTRAINT fk_item_comments FOREIGN KEY (item_id) REFERENCES items(id),
     CONSTRAINT fk_author_comments FOREIGN KEY (author_id) REFERENCES users(id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_status_start ON bookings (status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_end ON bookings (end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_end ON bookings (booker_id, item_id, status, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_start ON bookings_archive (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_item_start ON bookings_archive (item_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_item_end ON bookings_archive (booker_id, item_id, status, end_date);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
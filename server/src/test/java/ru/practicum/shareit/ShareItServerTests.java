@@ -1,13 +1,29 @@
 package ru.practicum.shareit;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.service.BookingArchiver;
+import ru.practicum.shareit.booking.service.ExpiredBookingSweeper;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest(classes = ShareItServer.class)
+@ActiveProfiles("test")
 class ShareItServerTests {
+    @Autowired
+    private ApplicationContext context;
 
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void testProfile_ShouldNotStartBackgroundBookingJobs() {
+        assertThat(context.getBeanNamesForType(ExpiredBookingSweeper.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(BookingArchiver.class)).isEmpty();
+    }
+
 }
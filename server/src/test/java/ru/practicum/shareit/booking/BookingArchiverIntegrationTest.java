@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingArchiver;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.BookingStatusConflictException;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BookingArchiverIntegrationTest {
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingArchiveRepository bookingArchiveRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private BookingArchiver archiver;
+    private User owner;
+    private User booker;
+    private User oldBooker;
+    private LocalDateTime now;
+    private Booking oldest;
+    private Booking older;
+    private Booking rejected;
+    private Booking recent;
+    private Booking lastOfOtherItem;
+
+    @BeforeEach
+    void setUp() {
+        archiver = new BookingArchiver(bookingRepository, bookingArchiveRepository, new SimpleMeterRegistry(),
+                Duration.ofDays(30), 2, 10, Duration.ZERO);
+        owner = userRepository.save(User.builder().name("owner").email("owner@test.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@test.ru").build());
+        oldBooker = userRepository.save(User.builder().name("old booker").email("old@test.ru").build());
+        Item item = itemRepository.save(Item.builder().name("item").description("descr").available(true)
+                .owner(owner).build());
+        Item other = itemRepository.save(Item.builder().name("other").description("descr").available(true)
+                .owner(owner).build());
+        now = LocalDateTime.now().withNano(0);
+
+        oldest = booking(item, oldBooker, BookingStatus.APPROVED, 62, 60);
+        rejected = booking(item, booker, BookingStatus.REJECTED, 52, 50);
+        older = booking(item, booker, BookingStatus.APPROVED, 42, 40);
+        recent = booking(item, booker, BookingStatus.APPROVED, 3, 1);
+        lastOfOtherItem = booking(other, booker, BookingStatus.APPROVED, 70, 68);
+    }
+
+    @Test
+    void archive_ShouldMoveOnlyOldBookingsThatAreNotTheLastOfTheirItem() {
+        assertThat(archiver.archive(now)).isEqualTo(3);
+
+        assertThat(bookingArchiveRepository.findAll()).extracting(b -> b.getId())
+                .containsExactlyInAnyOrder(oldest.getId(), rejected.getId(), older.getId());
+        assertThat(bookingRepository.findAll()).extracting(Booking::getId)
+                .containsExactlyInAnyOrder(recent.getId(), lastOfOtherItem.getId());
+        assertThat(archiver.archive(now)).isZero();
+    }
+
+    @Test
+    void readers_ShouldSeeArchivedBookings() {
+        archiver.archive(now);
+
+        assertThat(ids(bookingService.getAll(booker.getId(), BookingState.PAST, 0, 10, null, null)))
+                .containsExactly(recent.getId(), older.getId(), rejected.getId(), lastOfOtherItem.getId());
+        assertThat(ids(bookingService.getAllByOwner(owner.getId(), BookingState.ALL, 0, 10, null, null)))
+                .containsExactly(recent.getId(), older.getId(), rejected.getId(), oldest.getId(),
+                        lastOfOtherItem.getId());
+        assertThat(bookingService.get(oldest.getId(), oldBooker.getId()).getStatus())
+                .isEqualTo(BookingStatus.APPROVED);
+        assertThrows(BookingStatusConflictException.class,
+                () -> bookingService.approve(rejected.getId(), true, owner.getId()));
+        itemService.addComment(oldest.getItem().getId(), oldBooker.getId(),
+                CommentDto.builder().text("still counts").build());
+    }
+
+    @Test
+    void getAllByOwner_ShouldPageAcrossActiveAndArchivedBookings() {
+        archiver.archive(now);
+
+        List<BookingDto> first = bookingService.getAllByOwner(owner.getId(), BookingState.ALL, 0, 2, null, null);
+        BookingDto last = first.getLast();
+        List<BookingDto> second = bookingService.getAllByOwner(owner.getId(), BookingState.ALL, 0, 2,
+                last.getStart(), last.getId());
+
+        assertThat(ids(first)).containsExactly(recent.getId(), older.getId());
+        assertThat(ids(second)).containsExactly(rejected.getId(), oldest.getId());
+        assertThat(ids(bookingService.getAllByOwner(owner.getId(), BookingState.ALL, 2, 2, null, null)))
+                .containsExactly(rejected.getId(), oldest.getId());
+    }
+
+    private Booking booking(Item item, User user, BookingStatus status, int startDaysAgo, int endDaysAgo) {
+        return bookingRepository.save(Booking.builder().item(item).booker(user).status(status)
+                .start(now.minusDays(startDaysAgo)).end(now.minusDays(endDaysAgo)).build());
+    }
+
+    private List<Integer> ids(List<BookingDto> bookings) {
+        return bookings.stream().map(BookingDto::getId).toList();
+    }
+}
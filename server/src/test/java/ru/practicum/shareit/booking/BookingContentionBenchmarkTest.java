@@ -0,0 +1,128 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.BookingOverlapException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures booking creation throughput when many threads book the same few items.
+ * Run with {@code mvn test -pl server -Dtest=BookingContentionBenchmarkTest -Dbenchmark=true},
+ * thread counts are taken from {@code -Dbenchmark.threads=1,4,16} and hot item counts from
+ * {@code -Dbenchmark.items=1,16}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class BookingContentionBenchmarkTest {
+    private static final int ATTEMPTS_PER_THREAD = 200;
+    private static final int SLOTS = 2_000;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void createUnderContention() throws Exception {
+        User owner = userRepository.save(User.builder().name("owner").email("owner@bench.ru").build());
+        User booker = userRepository.save(User.builder().name("booker").email("booker@bench.ru").build());
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+
+        for (int itemCount : parse("benchmark.items", "1,16")) {
+            for (int threads : parse("benchmark.threads", "1,4,16")) {
+                List<Item> items = new ArrayList<>();
+                for (int i = 0; i < itemCount; i++) {
+                    items.add(itemRepository.save(Item.builder().name("bench").description("bench")
+                            .available(true).owner(owner).build()));
+                }
+
+                AtomicInteger created = new AtomicInteger();
+                AtomicInteger conflicts = new AtomicInteger();
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                long start = System.nanoTime();
+                for (int t = 0; t < threads; t++) {
+                    executor.submit(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                            Item item = items.get(random.nextInt(items.size()));
+                            LocalDateTime from = base.plusHours(random.nextInt(SLOTS));
+                            BookingDtoRequest request = BookingDtoRequest.builder()
+                                    .itemId(item.getId())
+                                    .start(from)
+                                    .end(from.plusHours(1 + random.nextInt(3)))
+                                    .build();
+                            try {
+                                bookingService.create(request, booker.getId());
+                                created.incrementAndGet();
+                            } catch (BookingOverlapException e) {
+                                conflicts.incrementAndGet();
+                            }
+                        }
+                    });
+                }
+                executor.shutdown();
+                executor.awaitTermination(10, TimeUnit.MINUTES);
+                long nanos = System.nanoTime() - start;
+
+                int attempts = threads * ATTEMPTS_PER_THREAD;
+                System.out.printf("%3d items  %3d threads  %6d attempts  %6d created  %6d conflicts  %8.0f ops/s%n",
+                        itemCount, threads, attempts, created.get(), conflicts.get(), attempts * 1e9 / nanos);
+                assertNoOverlaps(items);
+            }
+        }
+    }
+
+    private void assertNoOverlaps(List<Item> items) {
+        List<Integer> itemIds = items.stream().map(Item::getId).toList();
+        Map<Integer, List<Booking>> bookings = bookingRepository.findAll().stream()
+                .filter(booking -> itemIds.contains(booking.getItem().getId()))
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        bookings.values().forEach(list -> {
+            list.sort(Comparator.comparing(Booking::getStart));
+            for (int i = 1; i < list.size(); i++) {
+                assertThat(list.get(i).getStart()).isAfterOrEqualTo(list.get(i - 1).getEnd());
+            }
+        });
+    }
+
+    private List<Integer> parse(String property, String defaultValue) {
+        return Arrays.stream(System.getProperty(property, defaultValue).split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+    }
+}
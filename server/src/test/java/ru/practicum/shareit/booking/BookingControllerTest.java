@@ -11,11 +11,18 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.dto.ItemUtilizationDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingStatsDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.OwnerBookingStreams;
+import ru.practicum.shareit.booking.stats.OwnerBookingStats;
 import ru.practicum.shareit.exceptions.AccessException;
 import ru.practicum.shareit.exceptions.BookingApproveAccessException;
 import ru.practicum.shareit.item.model.Item;
@@ -24,10 +31,12 @@ import ru.practicum.shareit.user.model.User;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
@@ -39,6 +48,12 @@ public class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private OwnerBookingStreams ownerBookingStreams;
+
+    @MockBean
+    private OwnerBookingStats ownerBookingStats;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -110,6 +125,25 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value(bookingDtoResponse.getStatus().toString()));
     }
 
+    @Test
+    void approveAll_ShouldReturnResultPerDecision() throws Exception {
+        Mockito.when(bookingService.approveAll(anyList(), eq(1)))
+                .thenReturn(List.of(
+                        BookingDecisionResultDto.builder().bookingId(1).updated(true).status(BookingStatus.APPROVED).build(),
+                        BookingDecisionResultDto.builder().bookingId(2).updated(false).error("not found").build()));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new BookingDecisionDto(1, true),
+                                new BookingDecisionDto(2, false)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].updated").value(false))
+                .andExpect(jsonPath("$[1].error").value("not found"));
+    }
+
     @Test
     void approveBooking_ShouldReturnAccessDenied() throws Exception {
         int bookingId = 1;
@@ -166,7 +200,7 @@ public class BookingControllerTest {
         BookingState state = BookingState.ALL;
         List<BookingDto>  bookings = List.of(bookingDtoResponse);
 
-        Mockito.when(bookingService.getAll(eq(userId), eq(state)))
+        Mockito.when(bookingService.getAll(eq(userId), eq(state), eq(0), eq(Integer.MAX_VALUE), isNull(), isNull()))
                 .thenReturn(bookings);
 
         mockMvc.perform(get("/bookings")
@@ -183,7 +217,7 @@ public class BookingControllerTest {
     void getAllByOwner_ShouldReturnStatusOk_WithAllState() throws Exception {
         List<BookingDto> bookings = List.of(bookingDtoResponse);
 
-        Mockito.when(bookingService.getAllByOwner(anyInt(), eq(BookingState.ALL)))
+        Mockito.when(bookingService.getAllByOwner(anyInt(), eq(BookingState.ALL), eq(0), eq(Integer.MAX_VALUE), isNull(), isNull()))
                 .thenReturn(bookings);
 
         mockMvc.perform(get("/bookings/owner")
@@ -197,4 +231,33 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].status").value(bookingDtoResponse.getStatus().toString()));
     }
 
+
+    @Test
+    void getOwnerStats_ShouldReturnCounters() throws Exception {
+        Mockito.when(ownerBookingStats.get(1)).thenReturn(OwnerBookingStatsDto.builder()
+                .byStatus(Map.of(BookingStatus.WAITING, 2L))
+                .byState(Map.of(BookingState.FUTURE, 2L))
+                .utilizationWindowDays(30)
+                .items(List.of(new ItemUtilizationDto(1, 2, 0.5)))
+                .build());
+
+        mockMvc.perform(get("/bookings/owner/stats")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byStatus.WAITING").value(2))
+                .andExpect(jsonPath("$.byState.FUTURE").value(2))
+                .andExpect(jsonPath("$.items[0].utilization").value(0.5));
+    }
+
+    @Test
+    void streamByOwner_ShouldStartEventStream() throws Exception {
+        Mockito.when(ownerBookingStreams.subscribe(1)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/bookings/owner/stream")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+        Mockito.verify(ownerBookingStreams).subscribe(1);
+    }
 }
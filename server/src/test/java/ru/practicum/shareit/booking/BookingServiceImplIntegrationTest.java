@@ -0,0 +1,247 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.BookingOverlapException;
+import ru.practicum.shareit.exceptions.BookingStatusConflictException;
+import ru.practicum.shareit.exceptions.WrongStateParameterException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BookingServiceImplIntegrationTest {
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@test.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@test.ru").build());
+        item = itemRepository.save(Item.builder().name("item").description("descr").available(true).owner(owner).build());
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void create_ShouldRejectOverlappingBookingAndAllowAdjacentOne() {
+        bookingService.create(request(0, 2), booker.getId());
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.create(request(1, 3), booker.getId()));
+        assertThat(bookingService.create(request(2, 3), booker.getId()).getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void create_ShouldAllowBookingAfterOverlappingOneIsRejected() {
+        BookingDto first = bookingService.create(request(0, 2), booker.getId());
+        bookingService.approve(first.getId(), false, owner.getId());
+
+        BookingDto second = bookingService.create(request(1, 3), booker.getId());
+
+        assertThrows(BookingStatusConflictException.class,
+                () -> bookingService.approve(first.getId(), true, owner.getId()));
+        assertThat(second.getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void approve_ShouldLetOnlyOneOfConcurrentDecisionsWin() throws Exception {
+        int threads = 8;
+        BookingDto booking = bookingService.create(request(0, 1), booker.getId());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<BookingDto>> tasks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            boolean approved = i % 2 == 0;
+            tasks.add(() -> bookingService.approve(booking.getId(), approved, owner.getId()));
+        }
+
+        List<BookingDto> decided = new ArrayList<>();
+        int conflicts = 0;
+        for (Future<BookingDto> future : executor.invokeAll(tasks)) {
+            try {
+                decided.add(future.get());
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(BookingStatusConflictException.class);
+                conflicts++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(decided).hasSize(1);
+        assertThat(conflicts).isEqualTo(threads - 1);
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus())
+                .isEqualTo(decided.getFirst().getStatus());
+    }
+
+    @Test
+    void create_ShouldAcceptOnlyOneOfConcurrentOverlappingBookings() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<BookingDto>> tasks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int shift = i % 2;
+            tasks.add(() -> bookingService.create(request(shift, shift + 2), booker.getId()));
+        }
+
+        int created = 0;
+        int conflicts = 0;
+        for (Future<BookingDto> future : executor.invokeAll(tasks)) {
+            try {
+                future.get();
+                created++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(BookingOverlapException.class);
+                conflicts++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(created).isEqualTo(1);
+        assertThat(conflicts).isEqualTo(threads - 1);
+        assertThat(bookingRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void approveAll_ShouldApplyValidDecisionsAndReportEachOne() {
+        Item foreign = itemRepository.save(Item.builder().name("foreign").description("descr").available(true)
+                .owner(booker).build());
+        BookingDto first = bookingService.create(request(0, 1), booker.getId());
+        BookingDto second = bookingService.create(request(1, 2), booker.getId());
+        BookingDto decided = bookingService.create(request(2, 3), booker.getId());
+        bookingService.approve(decided.getId(), false, owner.getId());
+        BookingDto notOwned = bookingService.create(BookingDtoRequest.builder().itemId(foreign.getId())
+                .start(start).end(start.plusDays(1)).build(), owner.getId());
+
+        List<BookingDecisionResultDto> results = bookingService.approveAll(List.of(
+                new BookingDecisionDto(first.getId(), true),
+                new BookingDecisionDto(second.getId(), false),
+                new BookingDecisionDto(decided.getId(), true),
+                new BookingDecisionDto(notOwned.getId(), true),
+                new BookingDecisionDto(999, true),
+                new BookingDecisionDto(first.getId(), false)), owner.getId());
+
+        assertThat(results).extracting(BookingDecisionResultDto::getBookingId)
+                .containsExactly(first.getId(), second.getId(), decided.getId(), notOwned.getId(), 999, first.getId());
+        assertThat(results).extracting(BookingDecisionResultDto::isUpdated)
+                .containsExactly(true, true, false, false, false, false);
+        assertThat(results).extracting(BookingDecisionResultDto::getStatus)
+                .containsExactly(BookingStatus.APPROVED, BookingStatus.REJECTED, BookingStatus.REJECTED,
+                        null, null, null);
+        assertThat(bookingRepository.findById(first.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(second.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(bookingRepository.findById(notOwned.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void getAll_ShouldPageByOffsetAndByKeysetInSameOrder() {
+        Item second = itemRepository.save(Item.builder().name("second").description("descr").available(true)
+                .owner(owner).build());
+        for (int day = 0; day < 3; day++) {
+            bookingService.create(request(day, day + 1), booker.getId());
+            bookingService.create(BookingDtoRequest.builder().itemId(second.getId())
+                    .start(start.plusDays(day)).end(start.plusDays(day + 1)).build(), booker.getId());
+        }
+        List<Integer> all = ids(bookingService.getAll(booker.getId(), BookingState.ALL, 0, 10, null, null));
+
+        assertThat(all).hasSize(6);
+        assertThat(ids(bookingService.getAll(booker.getId(), BookingState.ALL, 2, 2, null, null)))
+                .isEqualTo(all.subList(2, 4));
+
+        List<Integer> scrolled = new ArrayList<>();
+        List<BookingDto> page = bookingService.getAllByOwner(owner.getId(), BookingState.FUTURE, 0, 4, null, null);
+        while (!page.isEmpty()) {
+            scrolled.addAll(ids(page));
+            BookingDto last = page.getLast();
+            page = bookingService.getAllByOwner(owner.getId(), BookingState.FUTURE, 0, 4, last.getStart(), last.getId());
+        }
+        assertThat(scrolled).isEqualTo(all);
+    }
+
+    @Test
+    void getAll_ShouldFilterByStateForBookerAndOwner() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking past = bookingRepository.save(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                .start(now.minusDays(3)).end(now.minusDays(2)).build());
+        Booking current = bookingRepository.save(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                .start(now.minusDays(1)).end(now.plusDays(1)).build());
+        Booking future = bookingRepository.save(Booking.builder().item(item).booker(booker).status(BookingStatus.WAITING)
+                .start(now.plusDays(2)).end(now.plusDays(3)).build());
+
+        assertThat(ids(bookingService.getAll(booker.getId(), BookingState.PAST, 0, 10, null, null)))
+                .containsExactly(past.getId());
+        assertThat(ids(bookingService.getAllByOwner(owner.getId(), BookingState.CURRENT, 0, 10, null, null)))
+                .containsExactly(current.getId());
+        assertThat(ids(bookingService.getAllByOwner(owner.getId(), BookingState.WAITING, 0, 10, null, null)))
+                .containsExactly(future.getId());
+        assertThat(ids(bookingService.getAll(booker.getId(), BookingState.ALL, 0, 10, null, null)))
+                .containsExactly(future.getId(), current.getId(), past.getId());
+        assertThat(bookingService.getAllByOwner(booker.getId(), BookingState.ALL, 0, 10, null, null)).isEmpty();
+        assertThrows(WrongStateParameterException.class,
+                () -> bookingService.getAll(booker.getId(), BookingState.REJECTED, 0, 10, null, null));
+    }
+
+    @Test
+    void getAll_ShouldReturnWholeListWhenSizeIsNotLimited() {
+        for (int day = 0; day < 3; day++) {
+            bookingService.create(request(day, day + 1), booker.getId());
+        }
+
+        assertThat(bookingService.getAll(booker.getId(), BookingState.ALL, 0, Integer.MAX_VALUE, null, null))
+                .hasSize(3);
+        assertThat(bookingService.getAll(booker.getId(), BookingState.ALL, 1, Integer.MAX_VALUE, null, null))
+                .hasSize(2);
+        assertThat(bookingService.getAllByOwner(owner.getId(), BookingState.FUTURE, 0, Integer.MAX_VALUE, null, null))
+                .hasSize(3);
+    }
+
+    private List<Integer> ids(List<BookingDto> bookings) {
+        return bookings.stream().map(BookingDto::getId).toList();
+    }
+
+    private BookingDtoRequest request(int startDays, int endDays) {
+        return BookingDtoRequest.builder()
+                .itemId(item.getId())
+                .start(start.plusDays(startDays))
+                .end(start.plusDays(endDays))
+                .build();
+    }
+}
@@ -3,16 +3,27 @@ package ru.practicum.shareit.booking;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.service.ItemLocks;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
 import ru.practicum.shareit.exceptions.BookingApproveAccessException;
+import ru.practicum.shareit.exceptions.BookingOverlapException;
+import ru.practicum.shareit.exceptions.BookingStatusConflictException;
 import ru.practicum.shareit.exceptions.BookingUnavailableItemException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
@@ -30,6 +41,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -45,6 +58,16 @@ public class BookingServiceImplTest {
     private UserService userService;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private BookingTimeline bookingTimeline;
+    @Spy
+    private ItemLocks itemLocks = new ItemLocks(4);
+    @Mock
+    private BookingBatchRepository bookingBatchRepository;
+    @Mock
+    private BookingArchiveRepository bookingArchiveRepository;
 
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -111,6 +134,18 @@ public class BookingServiceImplTest {
     }
 
 
+    @Test
+    void createBooking_whenDatesOverlap_thenShouldThrowException() {
+        when(userRepository.findById(anyInt())).thenReturn(Optional.of(booker));
+        when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
+        when(bookingTimeline.overlaps(anyInt(), any(), any(), anyInt())).thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> {
+            bookingService.create(bookingDtoRequest, booker.getId());
+        });
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void createBooking_whenItemUnavailable_thenShouldThrowException() {
         item.setAvailable(false);
@@ -134,19 +169,36 @@ public class BookingServiceImplTest {
     @Test
     void approveBooking_ShouldReturnApprovedBookingDto() {
         when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(booking)).thenReturn(booking);
-        when(bookingRepository.existsById(1)).thenReturn(true);
+        when(bookingRepository.updateStatus(1, BookingStatus.WAITING, BookingStatus.APPROVED)).thenReturn(1);
 
         BookingDto result = bookingService.approve(1, true, owner.getId());
 
         assertNotNull(result);
         assertEquals(booking.getId(), result.getId());
         assertEquals(BookingStatus.APPROVED, result.getStatus());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void approveBooking_whenAlreadyDecided_thenThrowConflict() {
+        booking.setStatus(BookingStatus.REJECTED);
+        when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
+
+        assertThrows(BookingStatusConflictException.class, () -> bookingService.approve(1, true, owner.getId()));
+        verify(bookingRepository, never()).updateStatus(anyInt(), any(), any());
+    }
+
+    @Test
+    void approveBooking_whenDecidedConcurrently_thenThrowConflict() {
+        when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
+        when(bookingRepository.updateStatus(1, BookingStatus.WAITING, BookingStatus.REJECTED)).thenReturn(0);
+
+        assertThrows(BookingStatusConflictException.class, () -> bookingService.approve(1, false, owner.getId()));
+        verify(bookingTimeline, never()).onSaved(any(Booking.class));
     }
 
     @Test
     void approveBooking_whenNotOwner_thenThrowAccessException() {
-        when(bookingRepository.existsById(1)).thenReturn(true);
         when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
 
         assertThrows(BookingApproveAccessException.class, () ->
@@ -156,7 +208,7 @@ public class BookingServiceImplTest {
 
     @Test
     void approveBooking_whenBookingNotExist_ShouldThrowNotFoundException() {
-        when(bookingRepository.existsById(anyInt())).thenReturn(false);
+        when(bookingRepository.findById(anyInt())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () ->
                 bookingService.approve(42, true, owner.getId())
@@ -166,7 +218,6 @@ public class BookingServiceImplTest {
     @Test
     void getBooking_whenUserIsBooker_ShouldReturnBookingDto() {
         when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
-        when(bookingRepository.existsById(anyInt())).thenReturn(true);
 
         BookingDto result = bookingService.get(1, booker.getId());
 
@@ -177,10 +228,13 @@ public class BookingServiceImplTest {
 
     @Test
     void getAllBookings_whenStateIsAll_ShouldReturnAllBookings() {
-        when(bookingRepository.findAllByBookerId(anyInt())).thenReturn(List.of(booking));
+        when(bookingRepository.findBy(ArgumentMatchers.<Specification<Booking>>any(), any()))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
+        when(bookingArchiveRepository.findBy(ArgumentMatchers.<Specification<ArchivedBooking>>any(), any()))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset));
         doNothing().when(userService).validateById(anyInt());
 
-        List<BookingDto> result = bookingService.getAll(booker.getId(), BookingState.ALL);
+        List<BookingDto> result = bookingService.getAll(booker.getId(), BookingState.ALL, 0, 10, null, null);
 
         assertNotNull(result);
         assertEquals(1, result.size());
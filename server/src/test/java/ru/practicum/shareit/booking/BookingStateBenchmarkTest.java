@@ -0,0 +1,130 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Measures the first and a deep keyset page of every booking list state for a booker and an owner.
+ * Run with {@code mvn test -pl server -Dtest=BookingStateBenchmarkTest -Dbenchmark=true},
+ * the booking count is taken from {@code -Dbenchmark.bookings=1000000}.
+ * Point {@code spring.datasource.*} at PostgreSQL with {@code spring.sql.init.platform=postgresql}
+ * to measure the composite indexes there instead of H2.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class BookingStateBenchmarkTest {
+    private static final List<BookingState> STATES = List.of(BookingState.ALL, BookingState.CURRENT,
+            BookingState.PAST, BookingState.FUTURE, BookingState.WAITING);
+    private static final int USERS = 1_000;
+    private static final int ITEMS = 10_000;
+    private static final int RUNS = 20;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void compareStates() {
+        int bookings = Integer.getInteger("benchmark.bookings", 1_000_000);
+        seed(bookings, new Random(42));
+        System.out.printf("%n%d bookings, %d users, %d items%n", bookings, USERS, ITEMS);
+
+        for (BookingState state : STATES) {
+            report("booker", state, after -> bookingService.getAll(1, state, 0, PAGE_SIZE,
+                    after == null ? null : after.getStart(), after == null ? null : after.getId()));
+            report("owner", state, after -> bookingService.getAllByOwner(1, state, 0, PAGE_SIZE,
+                    after == null ? null : after.getStart(), after == null ? null : after.getId()));
+        }
+    }
+
+    /**
+     * Items are spread over the users round-robin and every item gets back-to-back one-day slots around now,
+     * so the data also satisfies the overlap exclusion constraint on PostgreSQL.
+     */
+    private void seed(int bookings, Random random) {
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 1; i <= USERS; i++) {
+            batch.add(new Object[]{"user " + i, "user" + i + "@bench.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", batch);
+        batch.clear();
+
+        for (int i = 0; i < ITEMS; i++) {
+            batch.add(new Object[]{"item " + i, "description " + i, true, i % USERS + 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, ?, ?)", batch);
+        batch.clear();
+
+        List<Integer> itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Integer.class);
+        int slotsPerItem = Math.max(1, bookings / ITEMS);
+        LocalDateTime first = LocalDateTime.now().withNano(0).minusDays(slotsPerItem / 2);
+        BookingStatus[] statuses = BookingStatus.values();
+        for (int i = 0; i < bookings; i++) {
+            LocalDateTime start = first.plusDays(i / ITEMS);
+            batch.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(23)),
+                itemIds.get(i % ITEMS), random.nextInt(USERS) + 1, statuses[random.nextInt(statuses.length)].name()});
+            if (batch.size() == 10_000) {
+                insertBookings(batch);
+            }
+        }
+        insertBookings(batch);
+    }
+
+    private void insertBookings(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private void report(String list, BookingState state, PageLoader loader) {
+        List<BookingDto> firstPage = loader.load(null);
+        BookingDto cursor = firstPage.isEmpty() ? null : firstPage.getLast();
+        for (int i = 0; i < 20 && cursor != null; i++) {
+            List<BookingDto> page = loader.load(cursor);
+            cursor = page.isEmpty() ? cursor : page.getLast();
+        }
+        BookingDto deepCursor = cursor;
+
+        System.out.printf("%-6s  %-8s  first page  %s%n", list, state, measure(() -> loader.load(null)));
+        if (deepCursor != null) {
+            System.out.printf("%-6s  %-8s  page 21     %s%n", list, state, measure(() -> loader.load(deepCursor)));
+        }
+    }
+
+    private String measure(Supplier<List<BookingDto>> page) {
+        long[] timings = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            page.get();
+            timings[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        return String.format("median %8.3f ms  p90 %8.3f ms", timings[RUNS / 2] / 1e6, timings[RUNS * 9 / 10] / 1e6);
+    }
+
+    private interface PageLoader {
+        List<BookingDto> load(BookingDto after);
+    }
+}
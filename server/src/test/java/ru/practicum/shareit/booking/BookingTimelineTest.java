@@ -0,0 +1,159 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.timeline.BookingSlot;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
+import ru.practicum.shareit.booking.timeline.ItemTimeline;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingTimelineTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingTimeline bookingTimeline;
+    private LocalDateTime now;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        bookingTimeline = new BookingTimeline(bookingRepository, 100, Duration.ofHours(1));
+        now = LocalDateTime.now();
+        booker = User.builder().id(2).name("booker").email("booker@test.ru").build();
+    }
+
+    @Test
+    void summary_ShouldReturnLatestStartedAndEarliestUpcomingBookings() {
+        when(bookingRepository.findRecentSlotsByItemIds(anyCollection(), any(), any())).thenReturn(List.of(
+                slot(1, 1, -10, -9, BookingStatus.APPROVED),
+                slot(2, 1, -3, -2, BookingStatus.APPROVED),
+                slot(3, 1, 2, 3, BookingStatus.WAITING),
+                slot(4, 1, 5, 6, BookingStatus.APPROVED)));
+
+        ItemTimeline.Summary summary = bookingTimeline.get(1).summary(now);
+
+        assertThat(summary.last().id()).isEqualTo(2);
+        assertThat(summary.next().id()).isEqualTo(3);
+    }
+
+    @Test
+    void summary_ShouldRollForwardAsTimePasses() {
+        when(bookingRepository.findRecentSlotsByItemIds(anyCollection(), any(), any())).thenReturn(List.of(
+                slot(1, 1, -3, -2, BookingStatus.APPROVED),
+                slot(2, 1, 2, 3, BookingStatus.APPROVED)));
+        ItemTimeline timeline = bookingTimeline.get(1);
+
+        ItemTimeline.Summary summary = timeline.summary(now.plusDays(4));
+
+        assertThat(summary.last().id()).isEqualTo(2);
+        assertThat(summary.next()).isNull();
+        assertThat(timeline.size()).isEqualTo(1);
+    }
+
+    @Test
+    void onSaved_ShouldApplyNewAndRejectedBookingsToLoadedTimeline() {
+        when(bookingRepository.findRecentSlotsByItemIds(anyCollection(), any(), any())).thenReturn(List.of());
+        bookingTimeline.get(1);
+
+        Booking booking = booking(5, 1, BookingStatus.WAITING);
+        bookingTimeline.onSaved(booking);
+        assertThat(bookingTimeline.get(1).summary(now).next().id()).isEqualTo(5);
+
+        booking.setStatus(BookingStatus.REJECTED);
+        bookingTimeline.onSaved(booking);
+        assertThat(bookingTimeline.get(1).summary(now).next()).isNull();
+        verify(bookingRepository, times(1)).findRecentSlotsByItemIds(anyCollection(), any(), any());
+    }
+
+    @Test
+    void getAll_ShouldLoadMissingTimelinesInOneQuery() {
+        when(bookingRepository.findRecentSlotsByItemIds(anyCollection(), any(), any())).thenReturn(List.of(
+                slot(1, 1, 1, 2, BookingStatus.APPROVED),
+                slot(2, 2, 1, 2, BookingStatus.APPROVED)));
+
+        Map<Integer, ItemTimeline> timelines = bookingTimeline.getAll(List.of(1, 2, 3));
+
+        assertThat(timelines).containsOnlyKeys(1, 2, 3);
+        assertThat(timelines.get(3).summary(now).next()).isNull();
+        assertThat(bookingTimeline.getAll(List.of(1, 2, 3))).isEqualTo(timelines);
+        verify(bookingRepository, times(1)).findRecentSlotsByItemIds(anyCollection(), any(), any());
+    }
+
+    @Test
+    void overlaps_ShouldDetectIntersectionsWithNeighbouringBookings() {
+        when(bookingRepository.findRecentSlotsByItemIds(anyCollection(), any(), any())).thenReturn(List.of(
+                slot(1, 1, 1, 3, BookingStatus.APPROVED),
+                slot(2, 1, 5, 6, BookingStatus.WAITING),
+                slot(3, 1, 10, 20, BookingStatus.APPROVED)));
+
+        assertThat(bookingTimeline.overlaps(1, now.plusDays(2), now.plusDays(4), 0)).isTrue();
+        assertThat(bookingTimeline.overlaps(1, now.plusDays(3), now.plusDays(5), 0)).isFalse();
+        assertThat(bookingTimeline.overlaps(1, now.plusDays(6), now.plusDays(10), 0)).isFalse();
+        assertThat(bookingTimeline.overlaps(1, now.plusDays(18), now.plusDays(19), 0)).isTrue();
+        assertThat(bookingTimeline.overlaps(1, now.plusDays(5), now.plusDays(6), 2)).isFalse();
+    }
+
+    @Test
+    void overlaps_ShouldIgnoreRejectedAndCanceledBookings() {
+        when(bookingRepository.findRecentSlotsByItemIds(anyCollection(), any(), any())).thenReturn(List.of());
+        Booking booking = booking(5, 1, BookingStatus.WAITING);
+        bookingTimeline.get(1);
+        bookingTimeline.onSaved(booking);
+
+        booking.setStatus(BookingStatus.CANCELED);
+        bookingTimeline.onSaved(booking);
+
+        assertThat(bookingTimeline.overlaps(1, booking.getStart(), booking.getEnd(), 0)).isFalse();
+    }
+
+    @Test
+    void freeWindows_ShouldReturnGapsBetweenBookingsWithinRange() {
+        when(bookingRepository.findRecentSlotsByItemIds(anyCollection(), any(), any())).thenReturn(List.of(
+                slot(1, 1, 1, 3, BookingStatus.APPROVED),
+                slot(2, 1, 3, 4, BookingStatus.WAITING),
+                slot(3, 1, 6, 8, BookingStatus.APPROVED)));
+
+        List<ItemTimeline.Interval> windows = bookingTimeline.get(1).freeWindows(now.plusDays(2), now.plusDays(10));
+
+        assertThat(windows).containsExactly(
+                new ItemTimeline.Interval(now.plusDays(4), now.plusDays(6)),
+                new ItemTimeline.Interval(now.plusDays(8), now.plusDays(10)));
+        assertThat(bookingTimeline.get(1).freeWindows(now.plusDays(1), now.plusDays(4))).isEmpty();
+        assertThat(bookingTimeline.get(1).freeWindows(now, now.plusDays(1)))
+                .containsExactly(new ItemTimeline.Interval(now, now.plusDays(1)));
+    }
+
+    private BookingSlot slot(int id, int itemId, int startDays, int endDays, BookingStatus status) {
+        return new BookingSlot(id, itemId, now.plusDays(startDays), now.plusDays(endDays), status, booker);
+    }
+
+    private Booking booking(int id, int itemId, BookingStatus status) {
+        return Booking.builder()
+                .id(id)
+                .item(Item.builder().id(itemId).build())
+                .booker(booker)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.ExpiredBookingSweeper;
+import ru.practicum.shareit.booking.timeline.BookingSlot;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ExpiredBookingSweeperTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingBatchRepository bookingBatchRepository;
+
+    @Mock
+    private BookingTimeline bookingTimeline;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MeterRegistry meterRegistry;
+    private ExpiredBookingSweeper sweeper;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new ExpiredBookingSweeper(bookingRepository, bookingBatchRepository, bookingTimeline,
+                eventPublisher, meterRegistry, 2, 10, Duration.ZERO);
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void sweep_ShouldCancelInBatchesUntilNothingIsLeft() {
+        when(bookingRepository.findSlotsByStatusAndStartBefore(BookingStatus.WAITING, now, Limit.of(2)))
+                .thenReturn(List.of(slot(1, 10), slot(2, 10)), List.of(slot(3, 20)));
+        when(bookingBatchRepository.decideAll(anyList(), anyList()))
+                .thenReturn(new int[]{1, 1}, new int[]{1});
+
+        assertThat(sweeper.sweep(now)).isEqualTo(3);
+
+        ArgumentCaptor<BookingSlot> saved = ArgumentCaptor.forClass(BookingSlot.class);
+        verify(bookingTimeline, times(3)).onSaved(saved.capture());
+        assertThat(saved.getAllValues()).extracting(BookingSlot::status).containsOnly(BookingStatus.CANCELED);
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(10));
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(20));
+        assertThat(meterRegistry.counter("shareit.booking.sweeper.expired").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("shareit.booking.sweeper.batches").count()).isEqualTo(2);
+    }
+
+    @Test
+    void sweep_ShouldSkipBookingsDecidedMeanwhile() {
+        when(bookingRepository.findSlotsByStatusAndStartBefore(BookingStatus.WAITING, now, Limit.of(2)))
+                .thenReturn(List.of(slot(1, 10)));
+        when(bookingBatchRepository.decideAll(List.of(1), List.of(BookingStatus.CANCELED)))
+                .thenReturn(new int[]{0});
+
+        assertThat(sweeper.sweep(now)).isZero();
+
+        verify(bookingTimeline, never()).onSaved(any(BookingSlot.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void sweep_ShouldStopAfterMaxBatches() {
+        sweeper = new ExpiredBookingSweeper(bookingRepository, bookingBatchRepository, bookingTimeline,
+                eventPublisher, meterRegistry, 1, 3, Duration.ZERO);
+        when(bookingRepository.findSlotsByStatusAndStartBefore(BookingStatus.WAITING, now, Limit.of(1)))
+                .thenReturn(List.of(slot(1, 10)));
+        when(bookingBatchRepository.decideAll(anyList(), anyList())).thenReturn(new int[]{1});
+
+        assertThat(sweeper.sweep(now)).isEqualTo(3);
+        verify(bookingBatchRepository, times(3)).decideAll(anyList(), anyList());
+    }
+
+    private BookingSlot slot(int id, int itemId) {
+        return new BookingSlot(id, itemId, now.minusHours(id), now.plusHours(1), BookingStatus.WAITING, null);
+    }
+}
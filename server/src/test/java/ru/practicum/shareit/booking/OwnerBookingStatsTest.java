@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemUtilizationDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingStatsDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingChangedEvent;
+import ru.practicum.shareit.booking.stats.BookingPeriod;
+import ru.practicum.shareit.booking.stats.ItemBookingPeriod;
+import ru.practicum.shareit.booking.stats.ItemStatusCount;
+import ru.practicum.shareit.booking.stats.OwnerBookingStats;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OwnerBookingStatsTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingArchiveRepository bookingArchiveRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private UserService userService;
+
+    private OwnerBookingStats stats;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        stats = new OwnerBookingStats(bookingRepository, bookingArchiveRepository, itemRepository, userService,
+                Duration.ofDays(30), 100, Duration.ofHours(1));
+        now = LocalDateTime.now();
+
+        when(bookingRepository.countByOwnerGroupByItemAndStatus(1)).thenReturn(List.of(
+                new ItemStatusCount(10, BookingStatus.APPROVED, 2),
+                new ItemStatusCount(10, BookingStatus.WAITING, 1),
+                new ItemStatusCount(11, BookingStatus.REJECTED, 1)));
+        when(bookingArchiveRepository.countByOwnerGroupByItemAndStatus(1)).thenReturn(List.of(
+                new ItemStatusCount(10, BookingStatus.APPROVED, 3)));
+        when(bookingRepository.findPeriodsByOwnerEndingAfter(eq(1), any())).thenReturn(List.of(
+                new BookingPeriod(now.plusDays(1), now.plusDays(2)),
+                new BookingPeriod(now.minusHours(1), now.plusHours(1))));
+        when(itemRepository.findIdsByOwnerId(1)).thenReturn(List.of(10, 11, 12));
+        when(bookingRepository.findPeriodsByOwnerOverlapping(eq(1), anyCollection(), any(), any())).thenReturn(List.of(
+                new ItemBookingPeriod(10, now.plusDays(1), now.plusDays(2)),
+                new ItemBookingPeriod(10, now.minusHours(1), now.plusHours(1))));
+    }
+
+    @Test
+    void get_ShouldCountActiveAndArchivedBookings() {
+        OwnerBookingStatsDto result = stats.get(1, now);
+
+        assertThat(result.getByStatus()).containsEntry(BookingStatus.APPROVED, 5L)
+                .containsEntry(BookingStatus.WAITING, 1L)
+                .containsEntry(BookingStatus.REJECTED, 1L)
+                .containsEntry(BookingStatus.CANCELED, 0L);
+        assertThat(result.getByState()).containsEntry(BookingState.ALL, 7L)
+                .containsEntry(BookingState.FUTURE, 1L)
+                .containsEntry(BookingState.CURRENT, 1L)
+                .containsEntry(BookingState.PAST, 5L);
+        assertThat(result.getItems()).extracting(ItemUtilizationDto::getItemId, ItemUtilizationDto::getBookings)
+                .containsExactly(tuple(10, 6L), tuple(11, 1L), tuple(12, 0L));
+        assertThat(result.getItems()).extracting(ItemUtilizationDto::getUtilization)
+                .containsExactly(25.0 / (30 * 24), 0.0, 0.0);
+    }
+
+    @Test
+    void get_ShouldRollStatesOverAsTimePasses() {
+        stats.get(1, now);
+
+        OwnerBookingStatsDto later = stats.get(1, now.plusDays(1).plusHours(12));
+
+        assertThat(later.getByState()).containsEntry(BookingState.FUTURE, 0L)
+                .containsEntry(BookingState.CURRENT, 1L)
+                .containsEntry(BookingState.PAST, 6L);
+        assertThat(stats.get(1, now.plusDays(3)).getByState()).containsEntry(BookingState.CURRENT, 0L)
+                .containsEntry(BookingState.PAST, 7L);
+    }
+
+    @Test
+    void onBookingChanged_ShouldUpdateLoadedCountersWithoutQueries() {
+        stats.get(1, now);
+        BookingDto booking = BookingDto.builder()
+                .id(3)
+                .start(now.plusDays(5))
+                .end(now.plusDays(6))
+                .item(Item.builder().id(11).build())
+                .status(BookingStatus.WAITING)
+                .build();
+
+        stats.onBookingChanged(new BookingChangedEvent(1, null, booking));
+        booking.setStatus(BookingStatus.APPROVED);
+        stats.onBookingChanged(new BookingChangedEvent(1, BookingStatus.WAITING, booking));
+        OwnerBookingStatsDto result = stats.get(1, now);
+
+        assertThat(result.getByStatus()).containsEntry(BookingStatus.APPROVED, 6L)
+                .containsEntry(BookingStatus.WAITING, 1L);
+        assertThat(result.getByState()).containsEntry(BookingState.ALL, 8L)
+                .containsEntry(BookingState.FUTURE, 2L);
+        assertThat(result.getItems().get(1).getBookings()).isEqualTo(2);
+        verify(bookingRepository, times(1)).countByOwnerGroupByItemAndStatus(1);
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingChangedEvent;
+import ru.practicum.shareit.booking.service.OwnerBookingStreams;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.doThrow;
+
+@ExtendWith(MockitoExtension.class)
+public class OwnerBookingStreamsTest {
+    @Mock
+    private UserService userService;
+
+    private MeterRegistry meterRegistry;
+    private OwnerBookingStreams streams;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        streams = new OwnerBookingStreams(userService, meterRegistry, 2, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        streams.shutdown();
+    }
+
+    @Test
+    void onBookingChanged_ShouldSendOnlyEventsOfOwnItems() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        streams.subscribe(1, emitter);
+
+        streams.onBookingChanged(event(2, 10));
+        streams.onBookingChanged(event(1, 11));
+
+        assertThat(emitter.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(emitter.sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(streams.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void onBookingChanged_ShouldDisconnectSubscriberWhenBufferOverflows() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter other = new RecordingEmitter(null);
+        streams.subscribe(1, slow);
+        streams.subscribe(2, other);
+
+        try {
+            streams.onBookingChanged(event(1, 0));
+            assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (int i = 1; i < 10; i++) {
+                    streams.onBookingChanged(event(1, i));
+                }
+                streams.heartbeat();
+            });
+
+            assertThat(streams.subscriberCount()).isEqualTo(1);
+            assertThat(meterRegistry.counter("shareit.booking.stream.overflows").count()).isEqualTo(1);
+            assertThat(slow.completed.getCount()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void subscribe_ShouldThrowNotFoundException_WhenUserDoesNotExist() {
+        doThrow(new NotFoundException("User with id 99 is not found.")).when(userService).validateById(99);
+
+        assertThrows(NotFoundException.class, () -> streams.subscribe(99));
+        assertThat(streams.subscriberCount()).isZero();
+    }
+
+    private BookingChangedEvent event(int ownerId, int bookingId) {
+        return new BookingChangedEvent(ownerId, null, BookingDto.builder()
+                .id(bookingId)
+                .status(BookingStatus.WAITING)
+                .build());
+    }
+
+    /**
+     * Records sent events instead of writing them to a connection, optionally blocking like a stalled client.
+     * Sending holds the emitter monitor like the synchronized send of the real emitter, so completing waits for a
+     * stuck send. SseEmitter calls the superclass send(Set) non-virtually, so the event builder overload is the one
+     * to block in.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<SseEventBuilder> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            sent.add(builder);
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+            super.complete();
+        }
+    }
+}
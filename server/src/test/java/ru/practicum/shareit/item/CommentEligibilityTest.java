@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.BookingArchiveRepository;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.service.CommentEligibility;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CommentEligibilityTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingArchiveRepository bookingArchiveRepository;
+
+    private CommentEligibility commentEligibility;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        commentEligibility = new CommentEligibility(bookingRepository, bookingArchiveRepository,
+                new SimpleMeterRegistry(), 100);
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void canComment_ShouldRememberEligiblePairs() {
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(2, 1, BookingStatus.APPROVED, now))
+                .thenReturn(true);
+
+        assertThat(commentEligibility.canComment(2, 1, now)).isTrue();
+        assertThat(commentEligibility.canComment(2, 1, now)).isTrue();
+
+        verify(bookingRepository, times(1))
+                .existsByBookerIdAndItemIdAndStatusAndEndBefore(2, 1, BookingStatus.APPROVED, now);
+        verifyNoInteractions(bookingArchiveRepository);
+    }
+
+    @Test
+    void canComment_ShouldCheckArchiveAndNotRememberIneligiblePairs() {
+        when(bookingArchiveRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(2, 1, BookingStatus.APPROVED,
+                now)).thenReturn(false, true);
+
+        assertThat(commentEligibility.canComment(2, 1, now)).isFalse();
+        assertThat(commentEligibility.canComment(2, 1, now)).isTrue();
+        assertThat(commentEligibility.canComment(1, 2, now)).isFalse();
+    }
+}
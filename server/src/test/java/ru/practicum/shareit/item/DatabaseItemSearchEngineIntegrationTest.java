@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item;
+
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.DatabaseItemSearchEngine;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.item-search.mode=database")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Transactional
+public class DatabaseItemSearchEngineIntegrationTest {
+    @Autowired
+    private DatabaseItemSearchEngine searchEngine;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder().name("user").email("user@test.ru").build());
+        itemRepository.save(Item.builder().name("Дрель").description("Дрель 100% новая").available(true).owner(user).build());
+        itemRepository.save(Item.builder().name("Отвертка").description("Отвертка_1").available(true).owner(user).build());
+        itemRepository.save(Item.builder().name("Дрель ударная").description("Сломана").available(false).owner(user).build());
+    }
+
+    @Test
+    void find_ShouldReturnAvailableItemsContainingTextIgnoringCase() {
+        List<ItemDto> found = searchEngine.find("дРЕЛь", 0, 10);
+
+        assertThat(found).extracting(ItemDto::getName).containsExactly("Дрель");
+    }
+
+    @Test
+    void findFree_ShouldExcludeItemsWithIntersectingActiveBookings() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 4, 12, 0);
+        LocalDateTime end = start.plusDays(2);
+        User booker = userRepository.save(User.builder().name("booker").email("booker@test.ru").build());
+        Item drill = itemRepository.findAll().getFirst();
+        Item second = itemRepository.save(Item.builder().name("Дрель вторая").description("Запасная").available(true)
+                .owner(user).build());
+        bookingRepository.save(Booking.builder().item(drill).booker(booker).status(BookingStatus.APPROVED)
+                .start(start.minusDays(1)).end(start.plusHours(1)).build());
+        bookingRepository.save(Booking.builder().item(second).booker(booker).status(BookingStatus.REJECTED)
+                .start(start).end(end).build());
+
+        assertThat(searchEngine.findFree("дрель", 0, 10, start, end)).extracting(ItemDto::getName)
+                .containsExactly("Дрель вторая");
+        assertThat(searchEngine.findFree("дрель", 0, 10, end, end.plusDays(1))).extracting(ItemDto::getName)
+                .containsExactly("Дрель", "Дрель вторая");
+    }
+
+    @Test
+    void find_ShouldTreatLikeWildcardsLiterally() {
+        assertThat(searchEngine.find("100%", 0, 10)).extracting(ItemDto::getName).containsExactly("Дрель");
+        assertThat(searchEngine.find("_", 0, 10)).extracting(ItemDto::getName).containsExactly("Отвертка");
+        assertThat(searchEngine.find("%", 0, 10)).hasSize(1);
+    }
+
+    @Test
+    void find_ShouldPutNameMatchesFirstAndPage() {
+        List<ItemDto> found = searchEngine.find("отвертка", 0, 10);
+        assertThat(found).extracting(ItemDto::getName).containsExactly("Отвертка");
+
+        itemRepository.save(Item.builder().name("Набор бит").description("Бита для отвертка").available(true)
+                .owner(userRepository.findAll().getFirst()).build());
+
+        assertThat(searchEngine.find("отвертка", 0, 10)).extracting(ItemDto::getName)
+                .containsExactly("Отвертка", "Набор бит");
+        assertThat(searchEngine.find("отвертка", 1, 1)).extracting(ItemDto::getName)
+                .containsExactly("Набор бит");
+    }
+}
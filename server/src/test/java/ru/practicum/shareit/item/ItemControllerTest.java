@@ -10,11 +10,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoExport;
+import ru.practicum.shareit.item.dto.ItemBatchChunkDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -77,6 +81,27 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.available").value(itemDto.getAvailable()));
     }
 
+    @Test
+    void addBatch_ShouldReturnImportResult() throws Exception {
+        ItemBatchResultDto result = ItemBatchResultDto.builder()
+                .created(1)
+                .items(List.of(itemDto))
+                .chunks(List.of(ItemBatchChunkDto.builder().chunk(1).size(1).millis(2).itemsPerSecond(500).build()))
+                .build();
+
+        when(itemService.addBatch(anyList(), eq(1)))
+                .thenReturn(result);
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(itemDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(itemDto.getId()))
+                .andExpect(jsonPath("$.chunks[0].itemsPerSecond").value(500));
+    }
+
     @Test
     void updateItem_ShouldReturnUpdatedItemDto() throws Exception {
         ItemDto updatedItemDto = ItemDto.builder()
@@ -119,7 +144,7 @@ public class ItemControllerTest {
     void getAllItems_ShouldReturnListOfItems() throws Exception {
         List<ItemDto> items = List.of(itemDto);
 
-        when(itemService.getAll(eq(1)))
+        when(itemService.getAll(eq(1), eq(0), eq(Integer.MAX_VALUE)))
                 .thenReturn(items);
 
         mockMvc.perform(get("/items")
@@ -133,11 +158,28 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].available").value(itemDto.getAvailable()));
     }
 
+    @Test
+    void getAvailability_ShouldReturnFreeWindows() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(1);
+        when(itemService.getAvailability(1, from, to))
+                .thenReturn(List.of(new AvailabilityWindowDto(from, to)));
+
+        mockMvc.perform(get("/items/1/availability")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-02T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].start").value("2030-01-01T10:00:00"))
+                .andExpect(jsonPath("$[0].end").value("2030-01-02T10:00:00"));
+    }
+
     @Test
     void findItems_ShouldReturnListOfItems() throws Exception {
         List<ItemDto> items = List.of(itemDto);
 
-        when(itemService.find(anyString()))
+        when(itemService.find(anyString(), anyInt(), anyInt()))
                 .thenReturn(items);
 
         mockMvc.perform(get("/items/search")
@@ -151,6 +193,50 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].available").value(itemDto.getAvailable()));
     }
 
+    @Test
+    void findItems_ShouldUseFuzzySearchWhenRequested() throws Exception {
+        when(itemService.findFuzzy(eq("Itme"), eq(0), eq(Integer.MAX_VALUE)))
+                .thenReturn(List.of(itemDto));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "Itme")
+                        .param("fuzzy", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(itemDto.getId()));
+    }
+
+    @Test
+    void findItems_ShouldFilterByPeriodWhenGiven() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 4, 12, 0);
+        LocalDateTime end = LocalDateTime.of(2030, 1, 6, 12, 0);
+        when(itemService.findFree(eq("Item"), eq(0), eq(Integer.MAX_VALUE), eq(start), eq(end)))
+                .thenReturn(List.of(itemDto));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "Item")
+                        .param("start", "2030-01-04T12:00:00")
+                        .param("end", "2030-01-06T12:00:00")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(itemDto.getId()));
+    }
+
+    @Test
+    void suggest_ShouldReturnCompletions() throws Exception {
+        when(itemService.suggest(eq("It"), eq(5)))
+                .thenReturn(List.of("Item", "Item 2"));
+
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", "It")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]").value("Item"));
+    }
+
     @Test
     void addComment_ShouldReturnCommentDtoExport() throws Exception {
         when(itemService.addComment(eq(1), eq(1), any(CommentDto.class)))
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
+import ru.practicum.shareit.item.service.ItemDetailCache;
+import ru.practicum.shareit.user.service.UserChangedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ItemDetailCacheTest {
+    private static final int OWNER_ID = 1;
+    private static final int OTHER_USER_ID = 2;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemDetailCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemDetailCache(100, Duration.ofMinutes(10), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_ShouldCacheOwnerAndPublicViewsSeparately() {
+        ItemDto ownerView = cache.get(1, OWNER_ID, () -> load("owner", null));
+        ItemDto publicView = cache.get(1, OTHER_USER_ID, () -> load("public", null));
+
+        assertThat(cache.get(1, OWNER_ID, () -> load("again", null))).isEqualTo(ownerView);
+        assertThat(cache.get(1, 3, () -> load("again", null))).isEqualTo(publicView);
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void onItemChanged_ShouldDropBothViewsOfTheItemOnly() {
+        cache.get(1, OWNER_ID, () -> load("owner", null));
+        cache.get(1, OTHER_USER_ID, () -> load("public", null));
+        cache.get(2, OWNER_ID, () -> load("other item", null));
+
+        cache.onItemChanged(new ItemChangedEvent(1));
+
+        assertThat(cache.get(1, OWNER_ID, () -> load("owner v2", null)).getName()).isEqualTo("owner v2");
+        assertThat(cache.get(1, OTHER_USER_ID, () -> load("public v2", null)).getName()).isEqualTo("public v2");
+        assertThat(cache.get(2, OWNER_ID, () -> load("reloaded", null)).getName()).isEqualTo("other item");
+    }
+
+    @Test
+    void get_ShouldNotStoreViewLoadedDuringInvalidation() {
+        cache.get(1, OTHER_USER_ID, () -> {
+            cache.onItemChanged(new ItemChangedEvent(1));
+            return load("stale", null);
+        });
+
+        assertThat(cache.get(1, OTHER_USER_ID, () -> load("fresh", null)).getName()).isEqualTo("fresh");
+    }
+
+    @Test
+    void get_ShouldExpireOwnerViewWhenNextBookingStarts() {
+        BookingDto started = BookingDto.builder().id(1).start(LocalDateTime.now().minusSeconds(1)).build();
+
+        cache.get(1, OWNER_ID, () -> load("owner", started));
+
+        assertThat(cache.get(1, OWNER_ID, () -> load("owner v2", null)).getName()).isEqualTo("owner v2");
+    }
+
+    @Test
+    void get_ShouldGiveEveryCallerItsOwnCopy() {
+        BookingDto next = BookingDto.builder().id(1).start(LocalDateTime.now().plusDays(1)).build();
+        ItemDto loaded = cache.get(1, OWNER_ID, () -> load("owner", next));
+        loaded.setName("changed by first caller");
+        loaded.getNextBooking().setId(2);
+
+        ItemDto cached = cache.get(1, OWNER_ID, () -> load("again", null));
+        cached.setName("changed by second caller");
+
+        ItemDto again = cache.get(1, OWNER_ID, () -> load("again", null));
+        assertThat(again.getName()).isEqualTo("owner");
+        assertThat(again.getNextBooking().getId()).isEqualTo(1);
+        assertThat(again.getNextBooking()).isNotSameAs(cached.getNextBooking());
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void onUserChanged_ShouldDropAllViews() {
+        cache.get(1, OWNER_ID, () -> load("owner", null));
+        cache.get(2, OTHER_USER_ID, () -> load("other item", null));
+
+        cache.onUserChanged(new UserChangedEvent(OTHER_USER_ID));
+
+        assertThat(cache.get(1, OWNER_ID, () -> load("owner v2", null)).getName()).isEqualTo("owner v2");
+        assertThat(cache.get(2, OTHER_USER_ID, () -> load("other v2", null)).getName()).isEqualTo("other v2");
+    }
+
+    private ItemDetailCache.ItemDetails load(String name, BookingDto nextBooking) {
+        loads.incrementAndGet();
+        ItemDto item = ItemDto.builder().id(1).name(name).available(true).nextBooking(nextBooking).build();
+        return new ItemDetailCache.ItemDetails(OWNER_ID, item);
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.DatabaseItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Compares the old full-table filter with the first page of both search backends.
+ * Run with {@code mvn test -pl server -Dtest=ItemSearchBenchmarkTest -Dbenchmark=true},
+ * row counts are taken from {@code -Dbenchmark.rows=100000,1000000}.
+ * Point {@code spring.datasource.*} at PostgreSQL with {@code spring.sql.init.platform=postgresql}
+ * to measure the trigram indexes instead of H2.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ItemSearchBenchmarkTest {
+    private static final String[] WORDS = {"drill", "screwdriver", "hammer", "saw", "ladder", "tent", "bicycle",
+        "battery", "perforator", "wrench", "backpack", "kettle", "flashlight", "tripod"};
+    private static final List<String> QUERIES = List.of("drill", "batt", "driver", "99999");
+    private static final int RUNS = 10;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void compareSearchBackends() {
+        List<Integer> rowCounts = Arrays.stream(System.getProperty("benchmark.rows", "100000,1000000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+
+        Random random = new Random(42);
+        int inserted = 0;
+        for (int rows : rowCounts) {
+            inserted = seed(inserted, rows, random);
+
+            ItemSearchIndex index = new ItemSearchIndex(itemRepository, bookingRepository);
+            long buildStart = System.nanoTime();
+            index.load();
+            System.out.printf("%n%d rows, index built in %d ms%n", rows, (System.nanoTime() - buildStart) / 1_000_000);
+
+            DatabaseItemSearchEngine database = new DatabaseItemSearchEngine(itemRepository);
+            for (String query : QUERIES) {
+                report(rows, "full-scan", query, this::fullScan);
+                report(rows, "memory", query, text -> index.find(text, 0, PAGE_SIZE));
+                report(rows, "database", query, text -> database.find(text, 0, PAGE_SIZE));
+            }
+        }
+    }
+
+    private int seed(int from, int to, Random random) {
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + i;
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            batch.add(new Object[]{name, description, random.nextInt(10) > 0});
+            if (batch.size() == 10_000) {
+                insert(batch);
+            }
+        }
+        insert(batch);
+        return to;
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, available) VALUES (?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private List<ItemDto> fullScan(String text) {
+        return itemRepository.findAll().stream()
+                .filter(item -> item.getName() != null && item.getName().toLowerCase().contains(text.toLowerCase()) ||
+                        item.getDescription() != null && item.getDescription().toLowerCase().contains(text.toLowerCase()))
+                .filter(Item::getAvailable)
+                .map(ItemMapper::toItemDto)
+                .toList();
+    }
+
+    private void report(int rows, String backend, String query, Function<String, List<ItemDto>> search) {
+        int found = search.apply(query).size();
+        long[] timings = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            search.apply(query);
+            timings[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        System.out.printf("%9d rows  %-9s  %-8s  %8d returned  median %10.3f ms  p90 %10.3f ms%n",
+                rows, backend, query, found, timings[RUNS / 2] / 1e6, timings[RUNS * 9 / 10] / 1e6);
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(itemRepository, bookingRepository);
+        index.put(Item.builder().id(1).name("Дрель").description("Простая дрель").available(true).build());
+        index.put(Item.builder().id(2).name("Отвертка").description("Аккумуляторная отвертка").available(true).build());
+        index.put(Item.builder().id(3).name("Дрель+").description("Дрель с аккумулятором").available(false).build());
+    }
+
+    @Test
+    void find_ShouldMatchSubstringIgnoringCase() {
+        List<ItemDto> found = index.find("аККуМУл", 0, 10);
+
+        assertThat(found).extracting(ItemDto::getId).containsExactly(2);
+    }
+
+    @Test
+    void find_ShouldHandleQueriesShorterThanTrigram() {
+        List<ItemDto> found = index.find("ре", 0, 10);
+
+        assertThat(found).extracting(ItemDto::getId).containsExactly(1);
+    }
+
+    @Test
+    void find_ShouldNotMatchAcrossNameAndDescription() {
+        assertThat(index.find("рельпрос", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void put_ShouldReplacePreviousVersionOfItem() {
+        index.put(Item.builder().id(1).name("Молоток").description("Тяжелый").available(true).build());
+
+        assertThat(index.find("дрель", 0, 10)).isEmpty();
+        assertThat(index.find("молот", 0, 10)).extracting(ItemDto::getName).containsExactly("Молоток");
+    }
+
+    @Test
+    void put_ShouldApplyAvailabilityChanges() {
+        index.put(Item.builder().id(3).name("Дрель+").description("Дрель с аккумулятором").available(true).build());
+
+        assertThat(index.find("дрель", 0, 10)).extracting(ItemDto::getId).containsExactlyInAnyOrder(1, 3);
+    }
+
+    @Test
+    void find_ShouldRankNameAndRepeatedMatchesFirst() {
+        index.put(Item.builder().id(4).name("Чехол").description("Чехол для отвертки").available(true).build());
+        index.put(Item.builder().id(5).name("Отвертка отвертка").description("Две отвертки").available(true).build());
+
+        assertThat(index.find("отвертк", 0, 10)).extracting(ItemDto::getId).containsExactly(5, 2, 4);
+    }
+
+    @Test
+    void find_ShouldReturnRequestedPage() {
+        index.put(Item.builder().id(4).name("Чехол").description("Чехол для отвертки").available(true).build());
+        index.put(Item.builder().id(5).name("Отвертка отвертка").description("Две отвертки").available(true).build());
+
+        assertThat(index.find("отвертк", 1, 1)).extracting(ItemDto::getId).containsExactly(2);
+        assertThat(index.find("отвертк", 3, 10)).isEmpty();
+    }
+
+    @Test
+    void findFree_ShouldSkipBookedItemsBeforePaging() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 4, 12, 0);
+        LocalDateTime end = start.plusDays(2);
+        index.put(Item.builder().id(4).name("Чехол").description("Чехол для отвертки").available(true).build());
+        index.put(Item.builder().id(5).name("Отвертка отвертка").description("Две отвертки").available(true).build());
+        when(bookingRepository.findBusyItemIds(anyCollection(), eq(start), eq(end),
+                eq(List.of(BookingStatus.WAITING, BookingStatus.APPROVED))))
+                .thenAnswer(invocation -> invocation.<Collection<Integer>>getArgument(0).contains(5)
+                        ? List.of(5) : List.of());
+
+        assertThat(index.findFree("отвертк", 0, 10, start, end)).extracting(ItemDto::getId).containsExactly(2, 4);
+        assertThat(index.findFree("отвертк", 1, 1, start, end)).extracting(ItemDto::getId).containsExactly(4);
+        assertThat(index.findFuzzyFree("отвертка", 0, 10, start, end)).extracting(ItemDto::getId).containsExactly(2);
+    }
+
+    @Test
+    void findFree_ShouldLookUpBookingsOfMatchedItemsOnly() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 4, 12, 0);
+        LocalDateTime end = start.plusDays(2);
+
+        index.findFree("дрель", 0, 10, start, end);
+        index.findFree("пила", 0, 10, start, end);
+
+        verify(bookingRepository).findBusyItemIds(List.of(1), start, end,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED));
+        verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void findFuzzy_ShouldTolerateTypos() {
+        index.put(Item.builder().id(4).name("Drill").description("Cordless").available(true).build());
+
+        assertThat(index.findFuzzy("drel", 0, 10)).extracting(ItemDto::getId).containsExactly(4);
+        assertThat(index.findFuzzy("дрен", 0, 10)).extracting(ItemDto::getId).containsExactly(1);
+        assertThat(index.findFuzzy("отверка", 0, 10)).extracting(ItemDto::getId).containsExactly(2);
+    }
+
+    @Test
+    void findFuzzy_ShouldRankCloserMatchesFirstAndRespectMaxDistance() {
+        index.put(Item.builder().id(4).name("Дрели").description("Набор").available(true).build());
+
+        assertThat(index.findFuzzy("дрель", 0, 10)).extracting(ItemDto::getId).containsExactly(1, 4);
+        assertThat(index.findFuzzy("молоко", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void findFuzzy_ShouldForgetRenamedTokens() {
+        index.put(Item.builder().id(1).name("Молоток").description("Простая дрель").available(true).build());
+
+        assertThat(index.findFuzzy("дрель", 0, 10)).isEmpty();
+        assertThat(index.findFuzzy("молотак", 0, 10)).extracting(ItemDto::getId).containsExactly(1);
+    }
+}
@@ -6,19 +6,30 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.util.ReflectionTestUtils;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.timeline.BookingSlot;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoExport;
+import ru.practicum.shareit.item.dto.ItemBatchChunkDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemImporter;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.QueryCounter;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,6 +37,7 @@ import java.util.List;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 @SpringBootTest
+@ActiveProfiles("test")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @Transactional
 public class ItemServiceImplIntegrationTest {
@@ -36,6 +48,12 @@ public class ItemServiceImplIntegrationTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemImporter itemImporter;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -62,13 +80,93 @@ public class ItemServiceImplIntegrationTest {
 
     @Test
     void getAllUserItems_ShouldReturnAllItemsForUser() {
-        List<ItemDto> userItems = itemService.getAll(user.getId());
+        List<ItemDto> userItems = itemService.getAll(user.getId(), 0, 10);
 
         assertThat(userItems).hasSize(2);
         assertThat(userItems.get(0).getName()).isEqualTo(item1.getName());
         assertThat(userItems.get(1).getName()).isEqualTo(item2.getName());
     }
 
+    @Test
+    void getAllUserItems_ShouldReturnPageAfterGivenId() {
+        List<ItemDto> firstPage = itemService.getAll(user.getId(), 0, 1);
+        List<ItemDto> secondPage = itemService.getAll(user.getId(), firstPage.getLast().getId(), 1);
+
+        assertThat(firstPage).extracting(ItemDto::getName).containsExactly(item1.getName());
+        assertThat(secondPage).extracting(ItemDto::getName).containsExactly(item2.getName());
+        assertThat(itemService.getAll(user.getId(), secondPage.getLast().getId(), 1)).isEmpty();
+    }
+
+    @Test
+    void getAllUserItems_ShouldIncludeBookingsAndComments() {
+        User booker = userRepository.save(User.builder().name("booker").email("booker@test.ru").build());
+        Booking past = bookingRepository.save(Booking.builder().item(item1).booker(booker)
+                .start(LocalDateTime.now().minusDays(3)).end(LocalDateTime.now().minusDays(2))
+                .status(BookingStatus.APPROVED).build());
+        bookingRepository.save(Booking.builder().item(item1).booker(booker)
+                .start(LocalDateTime.now().minusDays(5)).end(LocalDateTime.now().minusDays(4))
+                .status(BookingStatus.APPROVED).build());
+        Booking future = bookingRepository.save(Booking.builder().item(item1).booker(booker)
+                .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2))
+                .status(BookingStatus.WAITING).build());
+        bookingRepository.save(Booking.builder().item(item2).booker(booker)
+                .start(LocalDateTime.now().plusHours(1)).end(LocalDateTime.now().plusHours(2))
+                .status(BookingStatus.REJECTED).build());
+        commentRepository.save(Comment.builder().text("Great item!").item(item1).author(booker)
+                .created(LocalDateTime.now()).build());
+
+        List<ItemDto> userItems = itemService.getAll(user.getId(), 0, 10);
+
+        assertThat(userItems.get(0).getLastBooking().getId()).isEqualTo(past.getId());
+        assertThat(userItems.get(0).getNextBooking().getId()).isEqualTo(future.getId());
+        assertThat(userItems.get(0).getComments()).extracting(CommentDtoExport::getText).containsExactly("Great item!");
+        assertThat(userItems.get(1).getLastBooking()).isNull();
+        assertThat(userItems.get(1).getNextBooking()).isNull();
+        assertThat(userItems.get(1).getComments()).isEmpty();
+    }
+
+    @Test
+    void addBatch_ShouldInsertItemsAndMakeThemSearchable() {
+        List<ItemDto> itemDtos = List.of(
+                ItemDto.builder().name("Палатка").description("Трехместная").available(true).build(),
+                ItemDto.builder().name("Спальник").description("Летний").available(true).build(),
+                ItemDto.builder().name("Горелка").description("Газовая").available(false).build());
+
+        ItemBatchResultDto result = itemService.addBatch(itemDtos, user.getId());
+
+        assertThat(result.getCreated()).isEqualTo(3);
+        assertThat(result.getChunks()).extracting(ItemBatchChunkDto::getSize).containsExactly(3);
+        assertThat(result.getItems()).extracting(ItemDto::getId).doesNotContain(0).doesNotHaveDuplicates();
+        assertThat(itemService.getAll(user.getId(), item2.getId(), 10)).extracting(ItemDto::getName)
+                .containsExactly("Палатка", "Спальник", "Горелка");
+        assertThat(itemService.find("палат", 0, 10)).extracting(ItemDto::getName).containsExactly("Палатка");
+        assertThat(itemService.suggest("спал", 10)).containsExactly("Спальник");
+    }
+
+    @Test
+    void addBatch_ShouldKeepCommittedChunksAndReportFailedOne() {
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        ReflectionTestUtils.setField(itemImporter, "chunkSize", 2);
+        List<ItemDto> itemDtos = List.of(
+                ItemDto.builder().name("Палатка").description("Трехместная").available(true).build(),
+                ItemDto.builder().name("Спальник").description("Летний").available(true).build(),
+                ItemDto.builder().name("Горелка").description("Газовая").available(true).build(),
+                ItemDto.builder().name("Котелок " + "x".repeat(300)).description("Походный").available(true).build(),
+                ItemDto.builder().name("Фонарь").description("Налобный").available(true).build());
+
+        ItemBatchResultDto result = itemService.addBatch(itemDtos, user.getId());
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getItems()).extracting(ItemDto::getName).containsExactly("Палатка", "Спальник");
+        assertThat(result.getChunks()).extracting(ItemBatchChunkDto::getChunk).containsExactly(1);
+        assertThat(result.getFailure().getChunk()).isEqualTo(2);
+        assertThat(result.getFailure().getError()).isNotBlank();
+        assertThat(itemService.getAll(user.getId(), item2.getId(), 10)).extracting(ItemDto::getName)
+                .containsExactly("Палатка", "Спальник");
+        assertThat(itemService.find("горелка", 0, 10)).isEmpty();
+    }
+
     @Test
     void updateItem_ShouldUpdateItem() {
         ItemDto updatedItemDto = ItemDto.builder()
@@ -99,9 +197,103 @@ public class ItemServiceImplIntegrationTest {
         assertThat(itemDto.getDescription()).isEqualTo(item1.getDescription());
     }
 
+    @Test
+    void getItemById_ShouldLoadOwnerViewInConstantNumberOfQueries() {
+        User booker = userRepository.save(User.builder().name("booker").email("booker@test.ru").build());
+        Booking past = bookingRepository.save(Booking.builder().item(item1).booker(booker)
+                .start(LocalDateTime.now().minusDays(3)).end(LocalDateTime.now().minusDays(2))
+                .status(BookingStatus.APPROVED).build());
+        Booking future = bookingRepository.save(Booking.builder().item(item1).booker(booker)
+                .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2))
+                .status(BookingStatus.WAITING).build());
+        for (int i = 0; i < 3; i++) {
+            commentRepository.save(Comment.builder().text("comment" + i).item(item1).author(booker)
+                    .created(LocalDateTime.now()).build());
+        }
+        commentRepository.flush();
+
+        QueryCounter.reset();
+        ItemDto ownerView = itemService.getById(item1.getId(), user.getId());
+        int ownerQueries = QueryCounter.get();
+
+        QueryCounter.reset();
+        ItemDto bookerView = itemService.getById(item1.getId(), booker.getId());
+        int bookerQueries = QueryCounter.get();
+
+        assertThat(ownerView.getLastBooking().getId()).isEqualTo(past.getId());
+        assertThat(ownerView.getNextBooking().getId()).isEqualTo(future.getId());
+        assertThat(ownerView.getComments()).hasSize(3);
+        assertThat(bookerView.getLastBooking()).isNull();
+        assertThat(bookerView.getComments()).hasSize(3);
+        assertThat(ownerQueries).isEqualTo(2);
+        assertThat(bookerQueries).isEqualTo(1);
+    }
+
+    @Test
+    void getItemById_ShouldReturnFreshViewAfterUpdateAndComment() {
+        User booker = userRepository.save(User.builder().name("booker").email("booker@test.ru").build());
+        bookingRepository.save(Booking.builder().item(item1).booker(booker)
+                .start(LocalDateTime.now().minusDays(2)).end(LocalDateTime.now().minusDays(1))
+                .status(BookingStatus.APPROVED).build());
+        itemService.getById(item1.getId(), booker.getId());
+
+        itemService.update(item1.getId(), user.getId(), ItemDto.builder().name("renamed").build());
+        itemService.addComment(item1.getId(), booker.getId(), CommentDto.builder().text("Great item!").build());
+        ItemDto itemDto = itemService.getById(item1.getId(), booker.getId());
+
+        assertThat(itemDto.getName()).isEqualTo("renamed");
+        assertThat(itemDto.getComments()).extracting(CommentDtoExport::getText).containsExactly("Great item!");
+
+        userService.update(booker.getId(), UserDto.builder().name("renamed booker").build());
+
+        assertThat(itemService.getById(item1.getId(), booker.getId()).getComments())
+                .extracting(CommentDtoExport::getAuthorName).containsExactly("renamed booker");
+    }
+
+    @Test
+    void getAvailability_ShouldReturnWindowsBetweenActiveBookings() {
+        User booker = userRepository.save(User.builder().name("booker").email("booker@test.ru").build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        bookingRepository.save(Booking.builder().item(item1).booker(booker)
+                .start(start.plusDays(1)).end(start.plusDays(2)).status(BookingStatus.APPROVED).build());
+        bookingRepository.save(Booking.builder().item(item1).booker(booker)
+                .start(start.plusDays(3)).end(start.plusDays(4)).status(BookingStatus.REJECTED).build());
+
+        List<AvailabilityWindowDto> windows = itemService.getAvailability(item1.getId(), start, start.plusDays(5));
+
+        assertThat(windows).containsExactly(
+                new AvailabilityWindowDto(start, start.plusDays(1)),
+                new AvailabilityWindowDto(start.plusDays(2), start.plusDays(5)));
+    }
+
+    @Test
+    void getAvailability_ShouldNotLoadBookingsEndedBeforeLastStartedOne() {
+        User booker = userRepository.save(User.builder().name("booker").email("booker@test.ru").build());
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(Booking.builder().item(item1).booker(booker)
+                .start(now.minusDays(10)).end(now.minusDays(9)).status(BookingStatus.APPROVED).build());
+        Booking last = bookingRepository.save(Booking.builder().item(item1).booker(booker)
+                .start(now.minusDays(5)).end(now.minusDays(4)).status(BookingStatus.APPROVED).build());
+        Booking next = bookingRepository.save(Booking.builder().item(item1).booker(booker)
+                .start(now.plusDays(1)).end(now.plusDays(2)).status(BookingStatus.WAITING).build());
+        bookingRepository.save(Booking.builder().item(item2).booker(booker)
+                .start(now.minusDays(3)).end(now.minusDays(2)).status(BookingStatus.APPROVED).build());
+
+        assertThat(bookingRepository.findRecentSlotsByItemIds(List.of(item1.getId()),
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), now))
+                .extracting(BookingSlot::id).containsExactlyInAnyOrder(last.getId(), next.getId());
+
+        ItemDto ownerView = itemService.getById(item1.getId(), user.getId());
+        assertThat(ownerView.getLastBooking().getId()).isEqualTo(last.getId());
+        assertThat(ownerView.getNextBooking().getId()).isEqualTo(next.getId());
+    }
+
     @Test
     void findItems_ShouldReturnItemsContainingText() {
-        List<ItemDto> foundItems = itemService.find("item");
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        List<ItemDto> foundItems = itemService.find("item", 0, 10);
 
         assertThat(foundItems).hasSize(2);
 
@@ -110,9 +302,21 @@ public class ItemServiceImplIntegrationTest {
         });
     }
 
+    @Test
+    void findItems_ShouldNotIndexItemsOfRolledBackTransaction() {
+        itemRepository.save(Item.builder().name("Палатка").description("Трехместная").available(true)
+                .owner(user).build());
+        itemRepository.flush();
+
+        TestTransaction.end();
+
+        assertThat(itemService.find("палат", 0, 10)).isEmpty();
+        assertThat(itemService.suggest("пала", 10)).isEmpty();
+    }
+
     @Test
     void findItems_ShouldReturnEmptyListWhenNoMatches() {
-        List<ItemDto> foundItems = itemService.find("jfksdjflks");
+        List<ItemDto> foundItems = itemService.find("jfksdjflks", 0, 10);
 
         assertThat(foundItems).isEmpty();
     }
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSuggestIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSuggestIndex(itemRepository);
+        index.put(1, "Дрель", true);
+        index.put(2, "Дрель ударная", true);
+        index.put(3, "Домкрат", true);
+        index.put(4, "Дрезина", false);
+    }
+
+    @Test
+    void suggest_ShouldReturnAvailableNamesInAlphabeticalOrder() {
+        assertThat(index.suggest("д", 10)).containsExactly("Домкрат", "Дрель", "Дрель ударная");
+        assertThat(index.suggest("ДРЕ", 10)).containsExactly("Дрель", "Дрель ударная");
+    }
+
+    @Test
+    void suggest_ShouldLimitNumberOfCompletions() {
+        assertThat(index.suggest("д", 2)).containsExactly("Домкрат", "Дрель");
+    }
+
+    @Test
+    void suggest_ShouldReturnEmptyListForUnknownPrefix() {
+        assertThat(index.suggest("пила", 10)).isEmpty();
+    }
+
+    @Test
+    void put_ShouldFollowRenamesAndAvailabilityChanges() {
+        index.put(1, "Перфоратор", true);
+        index.put(3, "Домкрат", false);
+        index.put(4, "Дрезина", true);
+
+        assertThat(index.suggest("д", 10)).containsExactly("Дрезина", "Дрель ударная");
+        assertThat(index.suggest("пер", 10)).containsExactly("Перфоратор");
+    }
+
+    @Test
+    void remove_ShouldKeepNameWhileOtherItemsShareIt() {
+        index.put(5, "Дрель", true);
+        index.remove(1);
+
+        assertThat(index.suggest("дрель", 10)).containsExactly("Дрель", "Дрель ударная");
+
+        index.remove(5);
+
+        assertThat(index.suggest("дрель", 10)).containsExactly("Дрель ударная");
+    }
+
+    @Test
+    void remove_ShouldKeepSurvivingSpellingOfNamesDifferingInCase() {
+        index.put(5, "Drill", true);
+        index.put(6, "DRILL", true);
+        index.remove(6);
+
+        assertThat(index.suggest("dr", 10)).containsExactly("Drill");
+
+        index.put(6, "DRILL", true);
+        index.put(7, "DRILL", true);
+
+        assertThat(index.suggest("dr", 10)).containsExactly("DRILL");
+
+        index.remove(6);
+        index.remove(7);
+        index.remove(5);
+
+        assertThat(index.suggest("dr", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserCache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private UserCache userCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userCache = new UserCache(100, Duration.ofMinutes(10), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndReportHitRate() {
+        userCache.get(1, () -> load(1, "user"));
+        UserDto cached = userCache.get(1, () -> load(1, "other"));
+        cached.setName("changed by caller");
+
+        assertThat(userCache.get(1, () -> load(1, "other")).getName()).isEqualTo("user");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(userCache.hitRate()).isEqualTo(2.0 / 3);
+        assertThat(meterRegistry.get("shareit.user.cache.hit-ratio").gauge().value()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void get_ShouldNotCacheMissingUsers() {
+        assertThat(userCache.get(1, () -> null)).isNull();
+
+        assertThat(userCache.get(1, () -> load(1, "user")).getName()).isEqualTo("user");
+    }
+
+    @Test
+    void invalidate_ShouldDropUserAndDiscardConcurrentLoad() {
+        userCache.get(1, () -> load(1, "user"));
+        userCache.invalidate(1);
+
+        userCache.get(1, () -> {
+            UserDto stale = load(1, "stale");
+            userCache.invalidate(1);
+            return stale;
+        });
+
+        assertThat(userCache.get(1, () -> load(1, "fresh")).getName()).isEqualTo("fresh");
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    private UserDto load(int id, String name) {
+        loads.incrementAndGet();
+        return UserDto.builder().id(id).name(name).email(name + "@test.ru").build();
+    }
+}
@@ -6,16 +6,29 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import ru.practicum.shareit.exceptions.EmailIsNotUniqueException;
+import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserServiceImpl;
+import ru.practicum.shareit.util.QueryCounter;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
+@ActiveProfiles("test")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @Transactional
 public class UserServiceImplIntegrationTest {
@@ -93,4 +106,59 @@ public class UserServiceImplIntegrationTest {
         assertThat(users.get(0).getName()).isEqualTo(user.getName());
         assertThat(users.get(0).getEmail()).isEqualTo(user.getEmail());
     }
+
+    @Test
+    void addUser_ShouldRejectDuplicateEmail() {
+        UserDto duplicate = UserDto.builder().name("other").email("user@test.ru").build();
+
+        assertThrows(EmailIsNotUniqueException.class, () -> userService.add(duplicate));
+    }
+
+    @Test
+    @org.springframework.transaction.annotation.Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void addUser_ShouldAcceptOnlyOneOfConcurrentSignupsWithSameEmail() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserDto>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            UserDto userDto = UserDto.builder().name("user " + i).email("same@test.ru").build();
+            results.add(executor.submit(() -> {
+                start.await();
+                return userService.add(userDto);
+            }));
+        }
+        start.countDown();
+
+        int added = 0;
+        for (Future<UserDto> result : results) {
+            try {
+                result.get();
+                added++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(EmailIsNotUniqueException.class);
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, added);
+    }
+
+    @Test
+    @org.springframework.transaction.annotation.Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getUserById_ShouldServeRepeatedLookupsFromCacheUntilUserChanges() {
+        userService.getById(user.getId());
+
+        QueryCounter.reset();
+        userService.validateById(user.getId());
+        UserDto cached = userService.getById(user.getId());
+        assertEquals(0, QueryCounter.get());
+        assertThat(cached.getEmail()).isEqualTo("user@test.ru");
+
+        userService.update(user.getId(), UserDto.builder().name("renamed").build());
+        assertThat(userService.getById(user.getId()).getName()).isEqualTo("renamed");
+
+        userService.deleteById(user.getId());
+        assertThrows(NotFoundException.class, () -> userService.validateById(user.getId()));
+    }
 }
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdempotencyFilterTest {
+    private IdempotencyFilter filter;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new ObjectMapper(), 100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void doFilter_ShouldReplayResponseForRepeatedKey() throws Exception {
+        FilterChain chain = created();
+
+        MockHttpServletResponse first = perform(request("/bookings", "key-1"), chain);
+        MockHttpServletResponse second = perform(request("/bookings", "key-1"), chain);
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(second.getStatus()).isEqualTo(201);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void doFilter_ShouldRejectRepeatedKeyWithDifferentBody() throws Exception {
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(201);
+            response.getOutputStream().write(request.getInputStream().readAllBytes());
+        };
+        MockHttpServletRequest first = request("/bookings", "key-1");
+        first.setContent("{\"itemId\":1}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest other = request("/bookings", "key-1");
+        other.setContent("{\"itemId\":2}".getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletResponse created = perform(first, chain);
+        MockHttpServletResponse rejected = perform(other, chain);
+
+        assertThat(created.getContentAsString()).isEqualTo("{\"itemId\":1}");
+        assertThat(rejected.getStatus()).isEqualTo(422);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_ShouldServeBodyToReadListener() throws Exception {
+        StringBuilder read = new StringBuilder();
+        FilterChain chain = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    read.append(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    read.append("|done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    read.append("|error");
+                }
+            });
+        };
+        MockHttpServletRequest request = request("/bookings", "key-1");
+        request.setContent("{\"itemId\":1}".getBytes(StandardCharsets.UTF_8));
+
+        perform(request, chain);
+
+        assertThat(read.toString()).isEqualTo("{\"itemId\":1}|done");
+    }
+
+    @Test
+    void doFilter_ShouldRunRequestsWithDifferentKeysUsersOrPaths() throws Exception {
+        FilterChain chain = created();
+
+        perform(request("/bookings", "key-1"), chain);
+        perform(request("/bookings", "key-2"), chain);
+        perform(request("/items", "key-1"), chain);
+        MockHttpServletRequest otherUser = request("/bookings", "key-1");
+        otherUser.removeHeader("X-Sharer-User-Id");
+        otherUser.addHeader("X-Sharer-User-Id", "2");
+        perform(otherUser, chain);
+        perform(request("/bookings", null), chain);
+        perform(request("/bookings", null), chain);
+
+        assertThat(executions.get()).isEqualTo(6);
+    }
+
+    @Test
+    void doFilter_ShouldNotKeepFailedResponses() throws Exception {
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(404);
+        };
+
+        perform(request("/items", "key-1"), chain);
+        perform(request("/items", "key-1"), chain);
+
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void doFilter_ShouldRunConcurrentDuplicatesOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> perform(request("/bookings", "key-1"), chain));
+            started.await(5, TimeUnit.SECONDS);
+            Future<MockHttpServletResponse> second = executor.submit(() -> perform(request("/bookings", "key-1"), chain));
+            release.countDown();
+
+            assertThat(second.get(5, TimeUnit.SECONDS).getContentAsString())
+                    .isEqualTo(first.get(5, TimeUnit.SECONDS).getContentAsString());
+            assertThat(executions.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void doFilter_ShouldRejectTooLongKey() throws Exception {
+        MockHttpServletResponse response = perform(request("/items", "k".repeat(256)), created());
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(executions.get()).isZero();
+    }
+
+    private FilterChain created() {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(201);
+            response.setContentType("application/json");
+            response.getOutputStream().write(("{\"id\":" + executions.get() + "}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletRequest request(String path, String idempotencyKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.addHeader("X-Sharer-User-Id", "1");
+        if (idempotencyKey != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}